@@ -77,7 +77,7 @@ public class Handler implements EventWatcher {
         }
 
         if (Option.ON_JOIN) {
-            Modes.DEFAULT.create(player);
+            Modes.DEFAULT.join(player);
             return;
         }
 
@@ -249,6 +249,29 @@ public class Handler implements EventWatcher {
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void move(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+
+        // only changes in block position can change the block below the player
+        if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY() && from.getBlockZ() == to.getBlockZ()) {
+            return;
+        }
+
+        if (to.getWorld() == null || !to.getWorld().getName().equals(Option.WORLD_NAME)) {
+            return;
+        }
+
+        ParkourPlayer player = ParkourPlayer.getPlayer(event.getPlayer());
+
+        if (player == null || player.session.generator == null || player.session.generator.player != player) {
+            return;
+        }
+
+        player.session.generator.onMove(from, to);
+    }
+
     @EventHandler
     public void onDrop(PlayerDropItemEvent event) {
         handleRestriction(event.getPlayer(), event);
@@ -4,17 +4,23 @@ import dev.efnilite.ip.api.Registry;
 import dev.efnilite.ip.config.Config;
 import dev.efnilite.ip.config.Locales;
 import dev.efnilite.ip.config.Option;
+import dev.efnilite.ip.generator.GeneratorTicker;
+import dev.efnilite.ip.generator.IslandPool;
 import dev.efnilite.ip.hook.HoloHook;
 import dev.efnilite.ip.hook.PAPIHook;
 import dev.efnilite.ip.mode.DefaultMode;
 import dev.efnilite.ip.mode.Modes;
 import dev.efnilite.ip.mode.SpectatorMode;
 import dev.efnilite.ip.player.ParkourUser;
+import dev.efnilite.ip.reward.RewardDispatcher;
 import dev.efnilite.ip.reward.Rewards;
+import dev.efnilite.ip.session.JoinPipeline;
 import dev.efnilite.ip.session.SessionChat;
 import dev.efnilite.ip.storage.Storage;
 import dev.efnilite.ip.storage.StorageDisk;
 import dev.efnilite.ip.storage.StorageSQL;
+import dev.efnilite.ip.world.BlockScheduler;
+import dev.efnilite.ip.world.EffectBatcher;
 import dev.efnilite.ip.world.WorldManager;
 import dev.efnilite.vilib.ViPlugin;
 import dev.efnilite.vilib.bstats.bukkit.Metrics;
@@ -44,6 +50,12 @@ public final class IP extends ViPlugin {
     private static Logging logging;
     private static IP instance;
     private static Storage storage;
+    private static BlockScheduler blockScheduler;
+    private static GeneratorTicker generatorTicker;
+    private static RewardDispatcher rewardDispatcher;
+    private static EffectBatcher effectBatcher;
+    private static IslandPool islandPool;
+    private static JoinPipeline joinPipeline;
 
     @Nullable
     private static PAPIHook placeholderHook;
@@ -95,6 +107,23 @@ public final class IP extends ViPlugin {
 
         // ----- Worlds -----
 
+        blockScheduler = new BlockScheduler();
+        blockScheduler.start();
+
+        generatorTicker = new GeneratorTicker();
+        generatorTicker.start();
+
+        rewardDispatcher = new RewardDispatcher();
+        rewardDispatcher.start();
+
+        effectBatcher = new EffectBatcher();
+        effectBatcher.start();
+
+        islandPool = new IslandPool();
+        islandPool.start();
+
+        joinPipeline = new JoinPipeline();
+
         if (Option.JOINING) {
             WorldManager.create();
         }
@@ -130,6 +159,14 @@ public final class IP extends ViPlugin {
         Modes.DEFAULT.getLeaderboard().write(false);
 
         storage.close();
+
+        generatorTicker.stop();
+        rewardDispatcher.stop();
+        effectBatcher.stop();
+        islandPool.stop();
+
+        // place or remove all blocks that are still waiting before the world is deleted
+        blockScheduler.stop();
         WorldManager.delete();
     }
 
@@ -169,4 +206,46 @@ public final class IP extends ViPlugin {
     public static Storage getStorage() {
         return storage;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return The scheduler for all parkour block changes.
+     */
+    public static BlockScheduler getBlockScheduler() {
+        return blockScheduler;
+    }
+
+    /**
+     * @return The ticker of all generators.
+     */
+    public static GeneratorTicker getGeneratorTicker() {
+        return generatorTicker;
+    }
+
+    /**
+     * @return The dispatcher of all reward commands and deposits.
+     */
+    public static RewardDispatcher getRewardDispatcher() {
+        return rewardDispatcher;
+    }
+
+    /**
+     * @return The batcher of all block particles and sounds.
+     */
+    public static EffectBatcher getEffectBatcher() {
+        return effectBatcher;
+    }
+
+    /**
+     * @return The pool of spawn islands that have already been pasted.
+     */
+    public static IslandPool getIslandPool() {
+        return islandPool;
+    }
+
+    /**
+     * @return The pipeline through which players join.
+     */
+    public static JoinPipeline getJoinPipeline() {
+        return joinPipeline;
+    }
+}
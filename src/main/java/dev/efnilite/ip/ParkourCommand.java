@@ -3,6 +3,9 @@ package dev.efnilite.ip;
 import dev.efnilite.ip.api.Registry;
 import dev.efnilite.ip.config.Config;
 import dev.efnilite.ip.config.Locales;
+import dev.efnilite.ip.generator.GeneratorTicker;
+import dev.efnilite.ip.generator.IslandPool;
+import dev.efnilite.ip.generator.ParkourGenerator;
 import dev.efnilite.ip.leaderboard.Leaderboard;
 import dev.efnilite.ip.menu.Menus;
 import dev.efnilite.ip.menu.ParkourOption;
@@ -10,11 +13,17 @@ import dev.efnilite.ip.menu.community.SingleLeaderboardMenu;
 import dev.efnilite.ip.mode.Mode;
 import dev.efnilite.ip.mode.Modes;
 import dev.efnilite.ip.mode.MultiMode;
+import dev.efnilite.ip.player.ClientState;
 import dev.efnilite.ip.player.ParkourPlayer;
 import dev.efnilite.ip.player.ParkourUser;
 import dev.efnilite.ip.player.data.InventoryData;
+import dev.efnilite.ip.reward.RewardDispatcher;
 import dev.efnilite.ip.schematic.Schematics;
 import dev.efnilite.ip.session.Session;
+import dev.efnilite.ip.session.JoinPipeline;
+import dev.efnilite.ip.world.BlockScheduler;
+import dev.efnilite.ip.world.EffectBatcher;
+import dev.efnilite.ip.world.WorldDivider;
 import dev.efnilite.vilib.command.ViCommand;
 import dev.efnilite.vilib.inventory.item.Item;
 import dev.efnilite.vilib.particle.ParticleData;
@@ -80,6 +89,7 @@ public class ParkourCommand extends ViCommand {
                 if (sender.hasPermission(ParkourOption.ADMIN.permission)) {
                     completions.add("schematic");
                     completions.add("reload");
+                    completions.add("stats");
                     completions.add("forcejoin");
                     completions.add("forceleave");
                     completions.add("reset");
@@ -154,6 +164,7 @@ public class ParkourCommand extends ViCommand {
         if (sender.hasPermission(ParkourOption.ADMIN.permission)) {
             send(sender, "<gray>/ip schematic <dark_gray>- Create a schematic");
             send(sender, "<gray>/ip reload <dark_gray>- Reloads the messages-v3.yml file");
+            send(sender, "<gray>/ip stats <dark_gray>- Shows performance statistics");
             send(sender, "<gray>/ip reset <everyone/player> <dark_gray>- Resets all high scores. <red>This can't be recovered!");
             send(sender, "<gray>/ip forcejoin <everyone/nearest/player> <dark_gray>- Forces a specific player, the nearest or everyone to join");
             send(sender, "<gray>/ip forceleave <everyone/nearest/player> <dark_gray>- Forces a specific player, the nearest or everyone to leave");
@@ -162,6 +173,56 @@ public class ParkourCommand extends ViCommand {
         send(sender, "");
     }
 
+    private void sendStats(CommandSender sender) {
+        BlockScheduler scheduler = IP.getBlockScheduler();
+
+        send(sender, "");
+        send(sender, "<dark_gray><strikethrough>---------------<reset> %s <dark_gray><strikethrough>---------------<reset>".formatted(IP.NAME));
+        send(sender, "");
+        send(sender, "<gray>Block changes waiting <dark_gray>- <red>%d".formatted(scheduler.getQueueDepth()));
+        send(sender, "<gray>Block changes last tick <dark_gray>- <red>%d <gray>in <red>%.2fms".formatted(scheduler.getLastTickChanges(), scheduler.getLastTickNanos() / 1_000_000.0));
+        send(sender, "<gray>Average block change time per tick <dark_gray>- <red>%.2fms".formatted(scheduler.getAverageTickNanos() / 1_000_000.0));
+        send(sender, "<gray>Total block changes <dark_gray>- <red>%d".formatted(scheduler.getTotalChanges()));
+        send(sender, "");
+
+        GeneratorTicker ticker = IP.getGeneratorTicker();
+        send(sender, "<gray>Generators ticked last tick <dark_gray>- <red>%d <gray>in <red>%.2fms".formatted(ticker.getLastTickGenerators(), ticker.getLastTickNanos() / 1_000_000.0));
+        send(sender, "<gray>Average generator time per tick <dark_gray>- <red>%.2fms".formatted(ticker.getAverageTickNanos() / 1_000_000.0));
+        WorldDivider.sessions.values().stream()
+                .map(session -> session.generator)
+                .filter(generator -> generator != null && generator.isTicking())
+                .max(Comparator.comparingDouble(ParkourGenerator::getAverageTickNanos))
+                .ifPresent(generator -> send(sender, "<gray>Slowest generator <dark_gray>- <red>%s <gray>at <red>%.2fms".formatted(generator.player.getName(), generator.getAverageTickNanos() / 1_000_000.0)));
+        send(sender, "");
+
+        RewardDispatcher dispatcher = IP.getRewardDispatcher();
+        send(sender, "<gray>Reward commands waiting <dark_gray>- <red>%d".formatted(dispatcher.getBacklog()));
+        send(sender, "<gray>Reward commands last tick <dark_gray>- <red>%d <gray>in <red>%.2fms".formatted(dispatcher.getLastTickCommands(), dispatcher.getLastTickNanos() / 1_000_000.0));
+        send(sender, "");
+
+        send(sender, "<gray>Player updates sent <dark_gray>- <red>%d".formatted(ClientState.getSent()));
+        send(sender, "<gray>Player updates skipped <dark_gray>- <red>%d".formatted(ClientState.getSkipped()));
+        send(sender, "");
+
+        EffectBatcher effects = IP.getEffectBatcher();
+        send(sender, "<gray>Effect load level <dark_gray>- <red>%d".formatted(effects.getLoadLevel()));
+        send(sender, "<gray>Effects shown <dark_gray>- <red>%d <gray>culled <red>%d".formatted(effects.getShown(), effects.getCulled()));
+        send(sender, "");
+
+        IslandPool pool = IP.getIslandPool();
+        send(sender, "<gray>Islands ready <dark_gray>- <red>%d".formatted(pool.getReady()));
+        send(sender, "<gray>Joins from pool <dark_gray>- <red>%d <gray>missed <red>%d <gray>recycled <red>%d".formatted(pool.getClaimed(), pool.getMissed(), pool.getRecycled()));
+        send(sender, "");
+
+        JoinPipeline joins = IP.getJoinPipeline();
+        send(sender, "<gray>Players joining <dark_gray>- <red>%d".formatted(joins.getJoining()));
+        send(sender, "<gray>Joins completed <dark_gray>- <red>%d <gray>aborted <red>%d".formatted(joins.getCompleted(), joins.getAborted()));
+        for (JoinPipeline.Stage stage : JoinPipeline.Stage.values()) {
+            send(sender, "<gray>Average join %s time <dark_gray>- <red>%.2fms".formatted(stage.name().toLowerCase(), joins.getAverageNanos(stage) / 1_000_000.0));
+        }
+        send(sender, "");
+    }
+
     private void handle1Args(@NotNull String arg, @NotNull CommandSender sender, @Nullable Player player) {
         switch (arg.toLowerCase()) {
             case "help" -> sendHelpMessages(sender);
@@ -178,6 +239,14 @@ public class ParkourCommand extends ViCommand {
 
                 send(sender, "%sReloaded config files.".formatted(IP.PREFIX));
             }
+            case "stats" -> {
+                if (!sender.hasPermission(ParkourOption.ADMIN.permission)) {
+                    send(sender, Locales.getString(player, "other.no_do"));
+                    return;
+                }
+
+                sendStats(sender);
+            }
         }
 
         if (player == null) {
@@ -245,7 +314,7 @@ public class ParkourCommand extends ViCommand {
                 }
 
                 if (arg2.equalsIgnoreCase("everyone")) {
-                    Bukkit.getOnlinePlayers().forEach(other -> Modes.DEFAULT.create(other));
+                    Bukkit.getOnlinePlayers().forEach(other -> Modes.DEFAULT.join(other));
                     send(sender, IP.PREFIX + "Successfully force joined everyone!");
                     return;
                 }
@@ -279,7 +348,7 @@ public class ParkourCommand extends ViCommand {
                     }
 
                     send(sender, IP.PREFIX + "Successfully force joined " + closest.getName() + "!");
-                    Modes.DEFAULT.create(closest);
+                    Modes.DEFAULT.join(closest);
                     return;
                 }
 
@@ -289,7 +358,7 @@ public class ParkourCommand extends ViCommand {
                     return;
                 }
 
-                Modes.DEFAULT.create(other);
+                Modes.DEFAULT.join(other);
             }
             case "forceleave" -> {
                 if (!sender.hasPermission(ParkourOption.ADMIN.permission)) {
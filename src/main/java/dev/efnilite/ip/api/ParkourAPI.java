@@ -39,4 +39,34 @@ public class ParkourAPI {
     public static @Nullable ParkourUser getUser(Player player) {
         return ParkourUser.getUser(player);
     }
+
+    /**
+     * @param player The player.
+     * @return The seed of the player's parkour. Null if the player isn't playing.
+     */
+    public static @Nullable Long getSeed(Player player) {
+        ParkourPlayer pp = ParkourPlayer.getPlayer(player);
+
+        return pp != null ? pp.session.generator.getSeed() : null;
+    }
+
+    /**
+     * Sets the seed of a player's parkour and regenerates it. The current run is discarded, without a fall message or score.
+     * Players with the same seed and settings get the same parkour, as long as they make the same jumps.
+     *
+     * @param player The player.
+     * @param seed   The seed.
+     * @return True if the seed was set, false if the player isn't playing.
+     */
+    public static boolean setSeed(Player player, long seed) {
+        ParkourPlayer pp = ParkourPlayer.getPlayer(player);
+
+        if (pp == null) {
+            return false;
+        }
+
+        pp.session.generator.setSeed(seed);
+        pp.session.generator.reset(true, false);
+        return true;
+    }
 }
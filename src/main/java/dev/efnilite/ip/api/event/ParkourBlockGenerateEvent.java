@@ -8,7 +8,7 @@ import org.bukkit.block.Block;
 import java.util.List;
 
 /**
- * Gets called when a new jump is generated. Read-only.
+ * Gets called when new jumps are generated. Jumps that are generated together are in one event. Read-only.
  *
  * @author Efnilite
  * @since 5.0.0
@@ -4,13 +4,35 @@ import dev.efnilite.ip.player.ParkourPlayer;
 import dev.efnilite.vilib.event.EventWrapper;
 
 /**
- * Gets called when a point is scored. Read-only.
+ * Gets called when one or more points are scored at once. Read-only.
  */
 public class ParkourScoreEvent extends EventWrapper {
 
     public final ParkourPlayer player;
+    public final int oldScore;
+    public final int newScore;
+    public final int delta;
 
+    /**
+     * Creates an event for a single point, ending at the current score of the player.
+     *
+     * @param player The player.
+     * @deprecated Use {@link #ParkourScoreEvent(ParkourPlayer, int, int)}, since multiple points can be scored at once.
+     */
+    @Deprecated
     public ParkourScoreEvent(ParkourPlayer player) {
+        this(player, currentScore(player) - 1, currentScore(player));
+    }
+
+    public ParkourScoreEvent(ParkourPlayer player, int oldScore, int newScore) {
         this.player = player;
+        this.oldScore = oldScore;
+        this.newScore = newScore;
+        this.delta = newScore - oldScore;
+    }
+
+    // the score of the player, or 0 if the player has no generator
+    private static int currentScore(ParkourPlayer player) {
+        return player.session.generator != null ? player.session.generator.score : 0;
     }
 }
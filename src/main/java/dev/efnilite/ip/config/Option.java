@@ -7,7 +7,6 @@ import dev.efnilite.ip.session.Session;
 import dev.efnilite.ip.style.Style;
 import dev.efnilite.ip.util.Util;
 import dev.efnilite.vilib.particle.ParticleData;
-import dev.efnilite.vilib.util.Colls;
 import org.bukkit.*;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -62,7 +61,7 @@ public class Option {
         initEnums();
         initGeneration();
         initAdvancedGeneration();
-        initStyles("styles.list", "default", Config.CONFIG.fileConfiguration, (materials, session) -> Colls.random(materials));
+        initStyles("styles.list", "default", Config.CONFIG.fileConfiguration, (materials, session) -> materials.get(session.generator.getRandom().nextInt(materials.size())));
 
         STORAGE_UPDATE_INTERVAL = Config.CONFIG.getInt("storage-update-interval");
 
@@ -184,6 +183,7 @@ public class Option {
     public static int SOUND_PITCH;
     public static Particle PARTICLE_TYPE;
     public static ParticleData<?> PARTICLE_DATA;
+    public static int PARTICLE_VIEW_DISTANCE;
 
     private static void initEnums() {
         String value = Config.CONFIG.getString("particles.sound-type").toUpperCase();
@@ -206,6 +206,7 @@ public class Option {
         SOUND_PITCH = Config.CONFIG.getInt("particles.sound-pitch");
         PARTICLE_SHAPE = ParticleShape.valueOf(Config.CONFIG.getString("particles.particle-shape").toUpperCase());
         PARTICLE_DATA = new ParticleData<>(PARTICLE_TYPE, null, 10, 0, 0, 0, 0);
+        PARTICLE_VIEW_DISTANCE = Config.CONFIG.getInt("particles.view-distance");
     }
 
     public enum ParticleShape {
@@ -293,11 +294,32 @@ public class Option {
     public static double BORDER_SIZE;
     public static int GENERATOR_CHECK;
     public static int SCHEMATIC_COOLDOWN;
+    public static int BLOCK_CHANGES_PER_TICK;
+    public static boolean CLIENT_SIDE_BLOCKS;
+    public static boolean PREDICTIVE_GENERATION;
+    public static int REWARD_DISPATCH_TIME;
+    public static int SCOREBOARD_REFRESH;
+    public static int ISLAND_POOL_SIZE;
+    public static int ISLAND_POOL_TIME;
 
     private static void initAdvancedGeneration() {
         GENERATOR_CHECK = Config.GENERATION.getInt("advanced.generator-check");
 
         SCHEMATIC_COOLDOWN = Config.GENERATION.getInt("advanced.schematic-cooldown");
+
+        BLOCK_CHANGES_PER_TICK = Math.max(1, Config.GENERATION.getInt("advanced.block-changes-per-tick"));
+
+        CLIENT_SIDE_BLOCKS = Config.GENERATION.getBoolean("advanced.client-side-blocks");
+
+        PREDICTIVE_GENERATION = Config.GENERATION.getBoolean("advanced.predictive-generation");
+
+        REWARD_DISPATCH_TIME = Math.max(1, Config.GENERATION.getInt("advanced.reward-dispatch-time"));
+
+        SCOREBOARD_REFRESH = Math.max(1, Config.GENERATION.getInt("advanced.scoreboard-refresh"));
+
+        ISLAND_POOL_SIZE = Math.max(0, Config.GENERATION.getInt("advanced.island-pool-size"));
+
+        ISLAND_POOL_TIME = Math.max(1, Config.GENERATION.getInt("advanced.island-pool-time"));
     }
 
     // --------------------------------------------------------------
@@ -0,0 +1,342 @@
+package dev.efnilite.ip.generator;
+
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <p>The history of generated parkour blocks.</p>
+ * <p>Every block gets an index, starting from 0. Only the most recent {@link #capacity} blocks are kept,
+ * stored as packed positions in a ring buffer. A hash index maps positions back to their index,
+ * so lookups and trail removal take constant time and memory, no matter the length of the run.</p>
+ */
+public class BlockHistory {
+
+    /**
+     * The default amount of blocks that are kept.
+     * Should be larger than the largest block lead plus the trail behind the player.
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * The maximum amount of blocks that are kept.
+     */
+    public final int capacity;
+
+    // ring buffer of packed positions, where index i is stored at i & (capacity - 1)
+    private final long[] positions;
+
+    // open addressing index from packed position to history index + 1, 0 marks an empty slot
+    private final long[] keys;
+    private final int[] values;
+    private final int mask;
+
+    // the index that the next block will get
+    private int size;
+
+    // the index of the oldest block that is kept
+    private int oldest;
+
+    private World world;
+
+    public BlockHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The maximum amount of blocks kept. Must be a power of two.
+     */
+    public BlockHistory(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two, got %d".formatted(capacity));
+        }
+
+        this.capacity = capacity;
+        this.positions = new long[capacity];
+        this.keys = new long[capacity * 2];
+        this.values = new int[capacity * 2];
+        this.mask = capacity * 2 - 1;
+    }
+
+    /**
+     * Packs block coordinates into a single long.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param z The z coordinate.
+     * @return The packed position.
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    /**
+     * @param position The packed position.
+     * @return The x coordinate.
+     */
+    public static int unpackX(long position) {
+        return (int) (position >> 38);
+    }
+
+    /**
+     * @param position The packed position.
+     * @return The y coordinate.
+     */
+    public static int unpackY(long position) {
+        return (int) (position << 52 >> 52);
+    }
+
+    /**
+     * @param position The packed position.
+     * @return The z coordinate.
+     */
+    public static int unpackZ(long position) {
+        return (int) (position << 26 >> 38);
+    }
+
+    /**
+     * @param block The block.
+     * @return The packed position of the block.
+     */
+    public static long pack(@NotNull Block block) {
+        return pack(block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Adds a block as the most recent block.
+     *
+     * @param block The block.
+     * @return The block that no longer fits in this history, null if none was removed.
+     */
+    @Nullable
+    public Block add(@NotNull Block block) {
+        world = block.getWorld();
+
+        Block evicted = size - oldest >= capacity ? get(oldest) : null;
+
+        add(pack(block));
+
+        return evicted;
+    }
+
+    /**
+     * Adds a packed position as the most recent block.
+     * If this history is full, the oldest block is removed.
+     *
+     * @param position The packed position.
+     */
+    public void add(long position) {
+        if (size - oldest >= capacity) {
+            removeIndex(positions[oldest & (capacity - 1)], oldest);
+            oldest++;
+        }
+
+        positions[size & (capacity - 1)] = position;
+        putIndex(position, size);
+        size++;
+    }
+
+    /**
+     * Removes the most recent block. The next block gets its index again.
+     * If the block was at the same position as an older block, the older block can no longer be found by {@link #indexOf(long)}.
+     *
+     * @return The packed position of the removed block.
+     */
+    public long removeLatest() {
+        if (size == oldest) {
+            throw new IllegalStateException("History is empty");
+        }
+
+        size--;
+        long position = positions[size & (capacity - 1)];
+        removeIndex(position, size);
+
+        return position;
+    }
+
+    /**
+     * @param block The block.
+     * @return The index of the block, -1 if it isn't (or no longer) in this history.
+     */
+    public int indexOf(@NotNull Block block) {
+        if (block.getWorld() != world) {
+            return -1;
+        }
+
+        return indexOf(pack(block));
+    }
+
+    /**
+     * @param position The packed position.
+     * @return The index of the position, -1 if it isn't (or no longer) in this history.
+     */
+    public int indexOf(long position) {
+        int slot = slot(position);
+
+        while (values[slot] != 0) {
+            if (keys[slot] == position) {
+                return values[slot] - 1;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param block The block.
+     * @return True when this block is in this history, false if not.
+     */
+    public boolean contains(@NotNull Block block) {
+        return indexOf(block) != -1;
+    }
+
+    /**
+     * @param index The index.
+     * @return The block at index, null if it isn't (or no longer) in this history.
+     */
+    @Nullable
+    public Block get(int index) {
+        if (world == null || !isRetained(index)) {
+            return null;
+        }
+
+        long position = getPosition(index);
+
+        return world.getBlockAt(unpackX(position), unpackY(position), unpackZ(position));
+    }
+
+    /**
+     * @param index The index. Must be retained.
+     * @return The packed position at index.
+     * @see #isRetained(int)
+     */
+    public long getPosition(int index) {
+        if (!isRetained(index)) {
+            throw new IndexOutOfBoundsException("Index %d is not in history (oldest %d, size %d)".formatted(index, getOldestIndex(), size));
+        }
+
+        return positions[index & (capacity - 1)];
+    }
+
+    /**
+     * @param index The index.
+     * @return True when the block at index is still kept, false if not.
+     */
+    public boolean isRetained(int index) {
+        return index >= getOldestIndex() && index < size;
+    }
+
+    /**
+     * @return The most recently added block.
+     */
+    @NotNull
+    public Block getLatest() {
+        Block latest = get(size - 1);
+
+        if (latest == null) {
+            throw new IllegalStateException("History is empty");
+        }
+
+        return latest;
+    }
+
+    /**
+     * @return The index of the oldest block that is still kept.
+     */
+    public int getOldestIndex() {
+        return oldest;
+    }
+
+    /**
+     * @return The total amount of blocks added since the last clear, which is also the index of the next block.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return True when no blocks have been added since the last clear.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all blocks. Indices start from 0 again.
+     */
+    public void clear() {
+        Arrays.fill(values, 0);
+        size = 0;
+        oldest = 0;
+    }
+
+    private void putIndex(long position, int index) {
+        int slot = slot(position);
+
+        while (values[slot] != 0) {
+            if (keys[slot] == position) { // newest block at this position wins
+                values[slot] = index + 1;
+                return;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = position;
+        values[slot] = index + 1;
+    }
+
+    private void removeIndex(long position, int index) {
+        int slot = slot(position);
+
+        while (values[slot] != 0) {
+            if (keys[slot] == position) {
+                if (values[slot] - 1 == index) { // position may have been overwritten by a newer block
+                    shift(slot);
+                }
+                return;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // backward shift deletion, keeps probe sequences intact without tombstones
+    private void shift(int slot) {
+        int last;
+
+        while (true) {
+            slot = ((last = slot) + 1) & mask;
+
+            while (true) {
+                if (values[slot] == 0) {
+                    values[last] = 0;
+                    return;
+                }
+
+                int ideal = slot(keys[slot]);
+                if (last <= slot ? last >= ideal || ideal > slot : last >= ideal && ideal > slot) {
+                    break;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            keys[last] = keys[slot];
+            values[last] = values[slot];
+        }
+    }
+
+    private int slot(long position) {
+        long h = position * 0x9E3779B97F4A7C15L;
+
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
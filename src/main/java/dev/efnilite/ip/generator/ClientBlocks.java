@@ -0,0 +1,162 @@
+package dev.efnilite.ip.generator;
+
+import dev.efnilite.ip.session.Session;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Parkour blocks that only exist for the players and spectators of a session.</p>
+ * <p>Blocks are sent as block changes and are never placed in the world, so the server doesn't have to update lighting
+ * or save chunks, and removing them doesn't change the world.
+ * Since block changes are lost when a player reloads a chunk, the blocks of a chunk are resent when that chunk comes
+ * into view of a viewer, and all blocks are sent to new viewers. Blocks are stored and sent by chunk.</p>
+ */
+public final class ClientBlocks {
+
+    private final Session session;
+
+    // the blocks by chunk key
+    private final Map<Long, Map<Block, BlockData>> chunks = new HashMap<>();
+
+    // the chunk key every viewer was in at the previous tick
+    private final Map<Player, Long> viewers = new HashMap<>();
+    private World world;
+
+    public ClientBlocks(@NotNull Session session) {
+        this.session = session;
+    }
+
+    /**
+     * Sets a block for all viewers.
+     *
+     * @param block The block.
+     * @param data  The block data.
+     */
+    public void set(@NotNull Block block, @NotNull BlockData data) {
+        world = block.getWorld();
+        chunks.computeIfAbsent(key(block.getX() >> 4, block.getZ() >> 4), k -> new HashMap<>()).put(block, data);
+
+        send(block.getLocation(), data);
+    }
+
+    /**
+     * Removes a block for all viewers, showing the actual block again.
+     *
+     * @param block The block.
+     */
+    public void remove(@NotNull Block block) {
+        long key = key(block.getX() >> 4, block.getZ() >> 4);
+        Map<Block, BlockData> chunk = chunks.get(key);
+
+        if (chunk == null || chunk.remove(block) == null) {
+            return;
+        }
+
+        if (chunk.isEmpty()) {
+            chunks.remove(key);
+        }
+
+        send(block.getLocation(), block.getBlockData());
+    }
+
+    /**
+     * Removes all blocks for all viewers.
+     */
+    public void clear() {
+        List<Block> blocks = new ArrayList<>();
+        chunks.values().forEach(chunk -> blocks.addAll(chunk.keySet()));
+
+        blocks.forEach(this::remove);
+    }
+
+    /**
+     * @param block The block.
+     * @return The material that viewers see at this block.
+     */
+    @NotNull
+    public Material getType(@NotNull Block block) {
+        Map<Block, BlockData> chunk = chunks.get(key(block.getX() >> 4, block.getZ() >> 4));
+        BlockData data = chunk != null ? chunk.get(block) : null;
+
+        return data != null ? data.getMaterial() : block.getType();
+    }
+
+    /**
+     * Sends all blocks to new viewers, and the blocks of chunks that have come into view to viewers that moved to another chunk.
+     */
+    public void tick() {
+        Set<Player> current = getViewers();
+        viewers.keySet().retainAll(current);
+
+        if (chunks.isEmpty()) {
+            return;
+        }
+
+        int distance = Bukkit.getViewDistance();
+
+        for (Player viewer : current) {
+            Location location = viewer.getLocation();
+
+            if (location.getWorld() != world) { // chunks are sent again when the viewer returns
+                viewers.remove(viewer);
+                continue;
+            }
+
+            int chunkX = location.getBlockX() >> 4;
+            int chunkZ = location.getBlockZ() >> 4;
+            Long previous = viewers.put(viewer, key(chunkX, chunkZ));
+
+            if (previous != null && previous == key(chunkX, chunkZ)) {
+                continue;
+            }
+
+            chunks.forEach((key, chunk) -> {
+                int x = (int) (key >> 32);
+                int z = (int) (long) key;
+
+                if (!inView(x, z, chunkX, chunkZ, distance)) {
+                    return;
+                }
+                if (previous != null && inView(x, z, (int) (previous >> 32), (int) (long) previous, distance)) {
+                    return; // already loaded by the viewer
+                }
+
+                chunk.forEach((block, data) -> viewer.sendBlockChange(block.getLocation(), data));
+            });
+        }
+    }
+
+    private boolean inView(int x, int z, int viewerX, int viewerZ, int distance) {
+        return Math.abs(x - viewerX) <= distance && Math.abs(z - viewerZ) <= distance;
+    }
+
+    private long key(int chunkX, int chunkZ) {
+        return (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+    }
+
+    private void send(Location location, BlockData data) {
+        getViewers().forEach(viewer -> viewer.sendBlockChange(location, data));
+    }
+
+    private Set<Player> getViewers() {
+        Set<Player> viewers = new LinkedHashSet<>();
+
+        session.getPlayers().forEach(user -> viewers.add(user.player));
+        session.getSpectators().forEach(user -> viewers.add(user.player));
+
+        return viewers;
+    }
+}
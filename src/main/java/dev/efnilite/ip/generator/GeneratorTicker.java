@@ -0,0 +1,142 @@
+package dev.efnilite.ip.generator;
+
+import dev.efnilite.ip.IP;
+import dev.efnilite.ip.config.Option;
+import dev.efnilite.ip.session.Session;
+import dev.efnilite.ip.world.WorldDivider;
+import dev.efnilite.vilib.util.Task;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Ticks the generators of all active sessions with a single task.</p>
+ * <p>Generators with {@link GeneratorOption#INCREASED_TICK_ACCURACY} are ticked every tick.
+ * Other generators are divided over {@link Option#GENERATOR_CHECK} shards by their section id,
+ * and every tick only one shard is ticked, so the work is spread evenly over all ticks.</p>
+ * <p>Scoreboards are divided over {@link Option#SCOREBOARD_REFRESH} shards in the same way,
+ * so every scoreboard is updated every {@link Option#SCOREBOARD_REFRESH} ticks, but not all on the same tick.</p>
+ */
+public final class GeneratorTicker {
+
+    // the generators to tick and the generators of which the scoreboards should be updated in the current tick
+    // these are gathered before updating, since ticking may end sessions
+    private final List<ParkourGenerator> due = new ArrayList<>();
+    private final List<ParkourGenerator> scoreboardsDue = new ArrayList<>();
+
+    private BukkitTask task;
+    private int shard;
+    private int scoreboardShard;
+
+    // metrics of the previous tick
+    private int lastTickGenerators;
+    private long lastTickNanos;
+    private double averageTickNanos;
+
+    /**
+     * Starts ticking generators.
+     */
+    public void start() {
+        task = Task.create(IP.getPlugin())
+                .repeat(1)
+                .execute(this::tick)
+                .run();
+    }
+
+    /**
+     * Stops ticking generators.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    private void tick() {
+        int shards = Math.max(1, Option.GENERATOR_CHECK);
+        shard = (shard + 1) % shards;
+
+        int scoreboardShards = Math.max(1, Option.SCOREBOARD_REFRESH);
+        scoreboardShard = (scoreboardShard + 1) % scoreboardShards;
+
+        long start = System.nanoTime();
+        int generators = 0;
+
+        for (Map.Entry<Integer, Session> entry : WorldDivider.sessions.entrySet()) {
+            ParkourGenerator generator = entry.getValue().generator;
+
+            if (generator == null || !generator.isTicking()) {
+                continue;
+            }
+
+            if (generator.generatorOptions.contains(GeneratorOption.INCREASED_TICK_ACCURACY) || entry.getKey() % shards == shard) {
+                due.add(generator);
+            }
+            if (entry.getKey() % scoreboardShards == scoreboardShard) {
+                scoreboardsDue.add(generator);
+            }
+        }
+
+        for (ParkourGenerator generator : due) {
+            if (!generator.isTicking()) { // ended by a previous generator
+                continue;
+            }
+
+            long generatorStart = System.nanoTime();
+
+            try {
+                generator.tick();
+            } catch (Exception ex) {
+                IP.logging().stack("Error while ticking generator of %s".formatted(generator.player.getName()), ex);
+            }
+
+            generator.recordTickTime(System.nanoTime() - generatorStart);
+            generators++;
+        }
+
+        scoreboardsDue.forEach(this::updateScoreboards);
+
+        due.clear();
+        scoreboardsDue.clear();
+
+        lastTickGenerators = generators;
+        lastTickNanos = System.nanoTime() - start;
+        averageTickNanos = averageTickNanos * 0.95 + lastTickNanos * 0.05;
+    }
+
+    private void updateScoreboards(ParkourGenerator generator) {
+        if (!generator.isTicking()) {
+            return;
+        }
+
+        try {
+            generator.getPlayers().forEach(player -> player.updateScoreboard(generator));
+            generator.getSpectators().forEach(spectator -> spectator.updateScoreboard(generator));
+        } catch (Exception ex) {
+            IP.logging().stack("Error while updating scoreboards of %s".formatted(generator.player.getName()), ex);
+        }
+    }
+
+    /**
+     * @return The amount of generators ticked in the previous tick.
+     */
+    public int getLastTickGenerators() {
+        return lastTickGenerators;
+    }
+
+    /**
+     * @return The time spent ticking generators in the previous tick, in nanoseconds.
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * @return The moving average of the time spent ticking generators per tick, in nanoseconds.
+     */
+    public double getAverageTickNanos() {
+        return averageTickNanos;
+    }
+}
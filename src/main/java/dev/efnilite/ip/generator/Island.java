@@ -3,15 +3,21 @@ package dev.efnilite.ip.generator;
 import dev.efnilite.ip.IP;
 import dev.efnilite.ip.config.Config;
 import dev.efnilite.ip.session.Session;
+import dev.efnilite.ip.world.BlockScheduler.Priority;
 import dev.efnilite.ip.world.WorldDivider;
 import dev.efnilite.vilib.schematic.Schematic;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
@@ -22,6 +28,8 @@ import java.util.NoSuchElementException;
  */
 public final class Island {
 
+    private static final BlockData AIR = Material.AIR.createBlockData();
+
     /**
      * The session.
      */
@@ -36,6 +44,10 @@ public final class Island {
      */
     public List<Block> blocks;
 
+    // the blocks where the player spawns and where the parkour begins
+    private Block player;
+    private Block parkour;
+
     public Island(@NotNull Session session, @Nullable Schematic schematic) {
         this.session = session;
         this.schematic = schematic;
@@ -45,11 +57,72 @@ public final class Island {
      * Builds the island and teleports the player.
      */
     public void build() {
+        build(null);
+    }
+
+    /**
+     * Builds the island and teleports the player.
+     *
+     * @param pasted An island that has already been pasted in the section of this session, or null to paste it now.
+     */
+    public void build(@Nullable Pasted pasted) {
+        if (pasted != null && pasted.schematic() != schematic) {
+            IP.getBlockScheduler().setAir(pasted.blocks(), Priority.CLEANUP);
+            pasted = null;
+        }
+
         if (schematic == null) {
             return;
         }
 
-        blocks = schematic.paste(WorldDivider.toLocation(session).subtract(0, schematic.getDimensions().getY(), 0));
+        if (pasted == null) {
+            pasted = paste(schematic, session.section);
+
+            if (pasted == null) {
+                return;
+            }
+        }
+
+        blocks = pasted.blocks();
+        player = pasted.player();
+        parkour = pasted.parkour();
+
+        Location ps = player.getLocation().add(0.5, 0, 0.5);
+        ps.setYaw(Config.GENERATION.getInt("advanced.island.spawn.yaw"));
+        ps.setPitch(Config.GENERATION.getInt("advanced.island.spawn.pitch"));
+
+        session.generator.generateFirst(ps, parkour.getLocation().subtract(session.generator.heading).subtract(0, 1, 0));
+        session.generator.startTick();
+        session.getPlayers().forEach(pp -> pp.setup(ps));
+    }
+
+    /**
+     * Destroys the island. If the {@link IslandPool} has room, the island and its section are kept for another session instead.
+     */
+    public void destroy() {
+        if (blocks == null) {
+            return;
+        }
+
+        if (session.section != null && IP.getIslandPool().recycle(new Pasted(session.section, schematic, blocks, player, parkour), session)) {
+            return;
+        }
+
+        IP.getBlockScheduler().setAir(blocks, Priority.CLEANUP);
+    }
+
+    /**
+     * Pastes a schematic as island in a section and removes the player and parkour blocks.
+     *
+     * @param schematic The schematic.
+     * @param section   The section.
+     * @return The pasted island, or null if the player or parkour block couldn't be found, in which case the island is removed again.
+     */
+    static @Nullable Pasted paste(@NotNull Schematic schematic, @NotNull WorldDivider.Section section) {
+        List<Block> blocks = schematic.paste(section.center().clone().subtract(0, schematic.getDimensions().getY(), 0));
+
+        // the island is pasted directly, so make sure no waiting cleanup of a previous session removes it
+        blocks.forEach(IP.getBlockScheduler()::cancel);
 
         Material playerMaterial = Material.getMaterial(Config.GENERATION.getString("advanced.island.spawn.player-block").toUpperCase());
         Material parkourMaterial = Material.getMaterial(Config.GENERATION.getString("advanced.island.parkour.begin-block").toUpperCase());
@@ -61,29 +134,76 @@ public final class Island {
             player.setType(Material.AIR);
             parkour.setType(Material.AIR);
 
-            Location ps = player.getLocation().add(0.5, 0, 0.5);
-            ps.setYaw(Config.GENERATION.getInt("advanced.island.spawn.yaw"));
-            ps.setPitch(Config.GENERATION.getInt("advanced.island.spawn.pitch"));
-
-            session.generator.generateFirst(ps, parkour.getLocation().subtract(session.generator.heading).subtract(0, 1, 0));
-            session.generator.startTick();
-            session.getPlayers().forEach(pp -> pp.setup(ps));
+            return new Pasted(section, schematic, blocks, player, parkour);
         } catch (NoSuchElementException ex) {
             IP.logging().stack("Error while trying to find parkour or player spawn in schematic %s".formatted(schematic.getFile().getName()),
                     "check if you used the same material as the one in generation.yml", ex);
 
             blocks.forEach(block -> block.setType(Material.AIR));
+            return null;
         }
     }
 
     /**
-     * Destroys the island.
+     * Schedules pasting a schematic as island in a section with the {@link dev.efnilite.ip.world.BlockScheduler},
+     * with the player and parkour blocks replaced by air.
+     * Use {@link dev.efnilite.ip.world.BlockScheduler#flush(Collection)} on the blocks before the island is used.
+     *
+     * @param schematic The schematic.
+     * @param section   The section.
+     * @return The island, or null if the player or parkour block couldn't be found, in which case nothing is scheduled.
      */
-    public void destroy() {
-        if (blocks == null) {
-            return;
+    static @Nullable Pasted schedule(@NotNull Schematic schematic, @NotNull WorldDivider.Section section) {
+        Location origin = section.center().clone().subtract(0, schematic.getDimensions().getY(), 0);
+
+        Material playerMaterial = Material.getMaterial(Config.GENERATION.getString("advanced.island.spawn.player-block").toUpperCase());
+        Material parkourMaterial = Material.getMaterial(Config.GENERATION.getString("advanced.island.parkour.begin-block").toUpperCase());
+
+        Map<Vector, BlockData> map = schematic.getVectorBlockMap();
+        List<Block> blocks = new ArrayList<>(map.size());
+        List<BlockData> data = new ArrayList<>(map.size());
+        Block player = null;
+        Block parkour = null;
+
+        for (Map.Entry<Vector, BlockData> entry : map.entrySet()) {
+            Block block = origin.clone().add(entry.getKey()).getBlock();
+            BlockData blockData = entry.getValue();
+
+            if (player == null && blockData.getMaterial() == playerMaterial) {
+                player = block;
+                blockData = AIR;
+            } else if (parkour == null && blockData.getMaterial() == parkourMaterial) {
+                parkour = block;
+                blockData = AIR;
+            }
+
+            blocks.add(block);
+            data.add(blockData);
+        }
+
+        if (player == null || parkour == null) {
+            IP.logging().stack("Error while trying to find parkour or player spawn in schematic %s".formatted(schematic.getFile().getName()),
+                    "check if you used the same material as the one in generation.yml");
+            return null;
+        }
+
+        for (int i = 0; i < blocks.size(); i++) {
+            IP.getBlockScheduler().set(blocks.get(i), data.get(i), false, Priority.CLEANUP);
         }
 
-        blocks.forEach(block -> block.setType(Material.AIR, false));
+        return new Pasted(section, schematic, blocks, player, parkour);
+    }
+
+    /**
+     * An island that has been pasted.
+     *
+     * @param section   The section it has been pasted in.
+     * @param schematic The schematic.
+     * @param blocks    The blocks that have been affected by the schematic.
+     * @param player    The block where the player spawns.
+     * @param parkour   The block where the parkour begins.
+     */
+    public record Pasted(WorldDivider.Section section, Schematic schematic, List<Block> blocks, Block player, Block parkour) {
+
     }
-}
\ No newline at end of file
+}
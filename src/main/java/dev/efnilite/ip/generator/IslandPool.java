@@ -0,0 +1,175 @@
+package dev.efnilite.ip.generator;
+
+import dev.efnilite.ip.IP;
+import dev.efnilite.ip.config.Option;
+import dev.efnilite.ip.schematic.Schematics;
+import dev.efnilite.ip.session.Session;
+import dev.efnilite.ip.world.BlockScheduler;
+import dev.efnilite.ip.world.BlockScheduler.Priority;
+import dev.efnilite.ip.world.WorldDivider;
+import dev.efnilite.vilib.schematic.Schematic;
+import dev.efnilite.vilib.util.Task;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+
+/**
+ * <p>Keeps sections with a spawn island that has already been pasted, so joining players don't have to wait for pasting.</p>
+ * <p>Every tick, islands are scheduled in new sections until there are {@link Option#ISLAND_POOL_SIZE} islands
+ * or {@link Option#ISLAND_POOL_TIME} milliseconds have passed. At least one island is scheduled in a tick when the pool isn't full.
+ * The blocks are placed by the {@link BlockScheduler}, within its budget per tick, after the blocks of players.
+ * Blocks that haven't been placed yet when an island is claimed are placed immediately.
+ * When a session ends, its island and section are put back in the pool if there is room, instead of being removed.</p>
+ * <p>Only use this on the main thread.</p>
+ */
+public final class IslandPool {
+
+    private final ArrayDeque<Island.Pasted> ready = new ArrayDeque<>();
+
+    private BukkitTask task;
+
+    // whether pasting has failed, in which case it isn't attempted again until the next start
+    private boolean failed;
+
+    // metrics
+    private long claimed;
+    private long missed;
+    private long recycled;
+
+    /**
+     * Starts filling the pool every tick.
+     */
+    public void start() {
+        failed = false;
+        task = Task.create(IP.getPlugin())
+                .repeat(1)
+                .execute(this::tick)
+                .run();
+    }
+
+    /**
+     * Stops filling the pool and removes all islands in it.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+        }
+
+        ready.forEach(this::remove);
+        ready.clear();
+    }
+
+    /**
+     * Takes an island from the pool. Its section is reserved, and should be associated with {@link WorldDivider#associate(Session, WorldDivider.Section)}.
+     *
+     * @return The island, or null if the pool is empty.
+     */
+    public @Nullable Island.Pasted claim() {
+        Island.Pasted pasted = ready.poll();
+
+        if (pasted == null) {
+            missed++;
+        } else {
+            claimed++;
+            IP.getBlockScheduler().flush(pasted.blocks());
+        }
+
+        return pasted;
+    }
+
+    /**
+     * Puts the island of a session that is ending back in the pool, if there is room.
+     * When it is put back, the session no longer has a section.
+     *
+     * @param pasted  The island.
+     * @param session The session.
+     * @return True when the island has been put back, false if it should be removed.
+     */
+    public boolean recycle(@NotNull Island.Pasted pasted, @NotNull Session session) {
+        if (ready.size() >= Option.ISLAND_POOL_SIZE || pasted.schematic() != getSchematic()) {
+            return false;
+        }
+
+        WorldDivider.detach(session);
+        ready.add(pasted);
+        recycled++;
+
+        return true;
+    }
+
+    private void tick() {
+        Schematic schematic = getSchematic();
+
+        // remove islands of a previous schematic or that no longer fit after a reload
+        ready.removeIf(pasted -> {
+            if (pasted.schematic() == schematic) {
+                return false;
+            }
+
+            remove(pasted);
+            return true;
+        });
+        while (ready.size() > Option.ISLAND_POOL_SIZE) {
+            remove(ready.pollLast());
+        }
+
+        if (!Option.JOINING || failed || schematic == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long budget = Option.ISLAND_POOL_TIME * 1_000_000L;
+
+        while (ready.size() < Option.ISLAND_POOL_SIZE && System.nanoTime() - start < budget) {
+            WorldDivider.Section section = WorldDivider.reserve();
+            Island.Pasted pasted = Island.schedule(schematic, section);
+
+            if (pasted == null) {
+                WorldDivider.release(section);
+                failed = true;
+                return;
+            }
+
+            ready.add(pasted);
+        }
+    }
+
+    private void remove(Island.Pasted pasted) {
+        IP.getBlockScheduler().setAir(pasted.blocks(), Priority.CLEANUP);
+        WorldDivider.release(pasted.section());
+    }
+
+    private Schematic getSchematic() {
+        return Schematics.CACHE.get("spawn-island");
+    }
+
+    /**
+     * @return The amount of islands in the pool.
+     */
+    public int getReady() {
+        return ready.size();
+    }
+
+    /**
+     * @return The amount of joins that got an island from the pool.
+     */
+    public long getClaimed() {
+        return claimed;
+    }
+
+    /**
+     * @return The amount of joins that had to paste an island, since the pool was empty.
+     */
+    public long getMissed() {
+        return missed;
+    }
+
+    /**
+     * @return The amount of islands that have been put back in the pool after a session ended.
+     */
+    public long getRecycled() {
+        return recycled;
+    }
+}
@@ -6,12 +6,38 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * The JumpDirector provides calculations to ensure parkour blocks stay within the allowed playable area.
+ * A director can be reused for every jump in the same area by calling {@link #update(double, double, double)}.
  */
 public class JumpDirector {
 
     private static final int SAFE_DISTANCE = 5;
-    private final BoundingBox bb;
-    private final double[][] progress;
+
+    // the bounds of the allowed parkour area
+    private final double minX;
+    private final double minY;
+    private final double minZ;
+    private final double maxX;
+    private final double maxY;
+    private final double maxZ;
+
+    // the point to base the direction on
+    private double x;
+    private double y;
+    private double z;
+
+    /**
+     * Constructor.
+     *
+     * @param bb The bounding box of the allowed parkour area.
+     */
+    public JumpDirector(@NotNull BoundingBox bb) {
+        this.minX = bb.getMinX();
+        this.minY = bb.getMinY();
+        this.minZ = bb.getMinZ();
+        this.maxX = bb.getMaxX();
+        this.maxY = bb.getMaxY();
+        this.maxZ = bb.getMaxZ();
+    }
 
     /**
      * Constructor.
@@ -20,46 +46,21 @@ public class JumpDirector {
      * @param point The point to base the direction on.
      */
     public JumpDirector(@NotNull BoundingBox bb, @NotNull Vector point) {
-        this.bb = bb;
-        this.progress = calculateParameterization(point);
+        this(bb);
+        update(point.getX(), point.getY(), point.getZ());
     }
 
     /**
-     * Calculates the player's position in a parameter form, to make it easier to detect when the player is near the edge of the border.
-     * Returns a 2-dimensional array where the first array index is used to select the x, y and z (0, 1 and 2 respectively).
+     * Sets the point to base the direction on.
      *
-     * @return Array where the first index is tx and second index is borderMarginX (see comments in code for explanation).
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @param z The z coordinate.
      */
-    private double[][] calculateParameterization(@NotNull Vector point) {
-        Vector min = bb.getMin();
-        Vector max = bb.getMax();
-
-        // the total dimensions
-        double dx = max.getX() - min.getX();
-        double dy = max.getY() - min.getY();
-        double dz = max.getZ() - min.getZ();
-
-        // the relative x, y and z coordinates
-        // relative being from the min point of the selection zone
-        double relativeX = point.getX() - min.getX();
-        double relativeY = point.getY() - min.getY();
-        double relativeZ = point.getZ() - min.getZ();
-
-        // get progress along axes
-        // tx = 0 means that the player is at the same x coordinate as the min point (origin)
-        // tx = 1 means that the player is at the same x coordinate as the max point
-        // everything between is the progress between these two points, relatively speaking
-        double tx = relativeX / dx;
-        double ty = relativeY / dy;
-        double tz = relativeZ / dz;
-
-        // the margin until the border
-        // if tx < borderMarginX, it means the x coordinate is within 'safeDistance' blocks of the border
-        double borderMarginX = SAFE_DISTANCE / dx;
-        double borderMarginY = SAFE_DISTANCE / dy;
-        double borderMarginZ = SAFE_DISTANCE / dz;
-
-        return new double[][]{{tx, borderMarginX}, {ty, borderMarginY}, {tz, borderMarginZ}};
+    public void update(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
     }
 
     /**
@@ -72,33 +73,23 @@ public class JumpDirector {
      */
     @NotNull
     public Vector getRecommendedHeading() {
-        // get x values from progress array
-        double tx = progress[0][0];
-        double borderMarginX = progress[0][1];
-
-        // get z values from progress array
-        double tz = progress[2][0];
-        double borderMarginZ = progress[2][1];
-
-        Vector recommendedHeading = new Vector(0, 0, 0);
-        // check border
-        if (tx < borderMarginX) {
-            // x should increase
-            recommendedHeading.add(new Vector(1, 0, 0));
-        } else if (tx > 1 - borderMarginX) {
-            // x should decrease
-            recommendedHeading.add(new Vector(-1, 0, 0));
-        }
+        return new Vector(getRecommendedHeadingX(), 0, getRecommendedHeadingZ());
+    }
 
-        if (tz < borderMarginZ) {
-            // z should increase
-            recommendedHeading.add(new Vector(0, 0, 1));
-        } else if (tz > 1 - borderMarginZ) {
-            // z should decrease
-            recommendedHeading.add(new Vector(0, 0, -1));
-        }
+    /**
+     * @return The x component of the recommended new heading. 0 if no modification is needed.
+     * @see #getRecommendedHeading()
+     */
+    public int getRecommendedHeadingX() {
+        return recommend(x, minX, maxX);
+    }
 
-        return recommendedHeading;
+    /**
+     * @return The z component of the recommended new heading. 0 if no modification is needed.
+     * @see #getRecommendedHeading()
+     */
+    public int getRecommendedHeadingZ() {
+        return recommend(z, minZ, maxZ);
     }
 
     /**
@@ -110,24 +101,34 @@ public class JumpDirector {
      * @return The recommended new height. 0 if no modification is needed.
      */
     public int getRecommendedHeight() {
-        double ty = progress[1][0];
-        double borderMarginY = progress[1][1];
+        return recommend(y, minY, maxY);
+    }
 
-        if (ty < borderMarginY) {
-            // y should increase
+    // returns 1 if the value should increase, -1 if it should decrease and 0 if it is far enough from both borders
+    private int recommend(double value, double min, double max) {
+        if (value - min < SAFE_DISTANCE) {
             return 1;
-        } else if (ty > 1 - borderMarginY) {
-            // y should decrease
+        } else if (max - value < SAFE_DISTANCE) {
             return -1;
         }
         return 0;
     }
 
     /**
-     * @return The progress array.
-     * @see #calculateParameterization(Vector)
+     * Returns the point's position in a parameter form.
+     * Returns a 2-dimensional array where the first array index is used to select the x, y and z (0, 1 and 2 respectively).
+     * The second index selects the progress along the axis (0 at min, 1 at max) and the border margin in the same unit.
+     *
+     * @return Array where the first index is tx and second index is borderMarginX.
      */
     public double[][] getProgress() {
-        return progress;
+        double dx = maxX - minX;
+        double dy = maxY - minY;
+        double dz = maxZ - minZ;
+
+        return new double[][]{
+                {(x - minX) / dx, SAFE_DISTANCE / dx},
+                {(y - minY) / dy, SAFE_DISTANCE / dy},
+                {(z - minZ) / dz, SAFE_DISTANCE / dz}};
     }
-}
\ No newline at end of file
+}
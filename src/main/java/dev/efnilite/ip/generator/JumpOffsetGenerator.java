@@ -3,6 +3,7 @@ package dev.efnilite.ip.generator;
 import dev.efnilite.vilib.util.Colls;
 import dev.efnilite.vilib.util.Probs;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
@@ -14,8 +15,22 @@ import java.util.stream.Collectors;
  */
 public class JumpOffsetGenerator {
 
+    // shared generators, indexed by [height + 2][distance - 1]
+    private static final JumpOffsetGenerator[][] GENERATORS = new JumpOffsetGenerator[4][4];
+
+    static {
+        for (int y = -2; y <= 1; y++) {
+            for (int distance = 1; distance <= 4; distance++) {
+                GENERATORS[y + 2][distance - 1] = new JumpOffsetGenerator(y, distance);
+            }
+        }
+    }
+
     private final int maxOffset;
 
+    // the offset distributions that have been used, copied on write
+    private volatile Distribution[] distributions = new Distribution[0];
+
     /**
      * Constructor.
      *
@@ -46,6 +61,21 @@ public class JumpOffsetGenerator {
         };
     }
 
+    /**
+     * Returns a shared generator, which keeps its offset distributions between jumps.
+     *
+     * @param y        The height difference.
+     * @param distance The distance.
+     * @return The generator.
+     */
+    public static JumpOffsetGenerator of(int y, int distance) {
+        if (y < -2 || y > 1 || distance < 1 || distance > 4) {
+            return new JumpOffsetGenerator(y, distance);
+        }
+
+        return GENERATORS[y + 2][distance - 1];
+    }
+
     /**
      * @param mean              The mean (average) value for the offset. Usually 0 to avoid parkour going only left or right.
      * @param standardDeviation The standard deviation.
@@ -53,11 +83,7 @@ public class JumpOffsetGenerator {
      * @return A random jump-able offset.
      */
     public int getRandomOffset(double mean, double standardDeviation, Random random) {
-        Map<Integer, Double> distribution = Colls.range(-maxOffset, maxOffset + 1)
-                .stream()
-                .collect(Collectors.toMap(offset -> offset, offset -> Probs.normalpdf(mean, standardDeviation, offset)));
-
-        return Probs.random(distribution, random);
+        return getDistribution(mean, standardDeviation).sample(random);
     }
 
     /**
@@ -68,4 +94,81 @@ public class JumpOffsetGenerator {
     public int getRandomOffset(double mean, double standardDeviation) {
         return getRandomOffset(mean, standardDeviation, ThreadLocalRandom.current());
     }
-}
\ No newline at end of file
+
+    private Distribution getDistribution(double mean, double standardDeviation) {
+        for (Distribution distribution : distributions) {
+            if (distribution.mean == mean && distribution.standardDeviation == standardDeviation) {
+                return distribution;
+            }
+        }
+
+        synchronized (this) {
+            for (Distribution distribution : distributions) {
+                if (distribution.mean == mean && distribution.standardDeviation == standardDeviation) {
+                    return distribution;
+                }
+            }
+
+            Distribution distribution = new Distribution(maxOffset, mean, standardDeviation);
+
+            Distribution[] updated = Arrays.copyOf(distributions, distributions.length + 1);
+            updated[updated.length - 1] = distribution;
+            distributions = updated;
+
+            return distribution;
+        }
+    }
+
+    /**
+     * The cumulative normal distribution of all possible offsets.
+     */
+    private static final class Distribution {
+
+        private final double mean;
+        private final double standardDeviation;
+        private final int[] offsets;
+        private final double[] cumulative;
+
+        private Distribution(int maxOffset, double mean, double standardDeviation) {
+            this.mean = mean;
+            this.standardDeviation = standardDeviation;
+
+            // keep the same order as sampling the map directly, so sequences from the same seed don't change
+            Map<Integer, Double> distribution = Colls.range(-maxOffset, maxOffset + 1)
+                    .stream()
+                    .collect(Collectors.toMap(offset -> offset, offset -> Probs.normalpdf(mean, standardDeviation, offset)));
+
+            this.offsets = new int[distribution.size()];
+            this.cumulative = new double[distribution.size()];
+
+            int i = 0;
+            double total = 0;
+            for (Map.Entry<Integer, Double> entry : distribution.entrySet()) {
+                total += entry.getValue();
+
+                offsets[i] = entry.getKey();
+                cumulative[i] = total;
+                i++;
+            }
+        }
+
+        // finds the first offset whose cumulative chance is at least the random value
+        private int sample(Random random) {
+            double value = random.nextDouble() * cumulative[cumulative.length - 1];
+
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+
+                if (cumulative[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return offsets[low];
+        }
+    }
+}
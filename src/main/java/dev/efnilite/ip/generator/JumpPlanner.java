@@ -0,0 +1,211 @@
+package dev.efnilite.ip.generator;
+
+import dev.efnilite.ip.config.Option;
+import dev.efnilite.ip.util.AliasSampler;
+import dev.efnilite.ip.util.SeededRandom;
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.type.Fence;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>Plans upcoming jumps as plain coordinates, continuing from the last planned jump.</p>
+ * <p>Planning doesn't access the world or the generator, so a {@link #copy()} may plan jumps on another thread.
+ * When these jumps are used, the copy replaces the original planner.
+ * Since every planner has its own random instance, the same jumps are planned regardless of which thread plans them.</p>
+ */
+public final class JumpPlanner {
+
+    private final BoundingBox zone;
+    private final AliasSampler<JumpType> jumps;
+    private final AliasSampler<Integer> heights;
+    private final AliasSampler<Integer> distances;
+    private final AliasSampler<BlockData> specials;
+    private final double standardDeviation;
+    private final boolean allowSpecial;
+    private final JumpDirector director;
+    private final SeededRandom random;
+
+    // the last planned jump
+    private int x;
+    private int y;
+    private int z;
+    private double headingX;
+    private double headingZ;
+    private Material material;
+
+    /**
+     * Constructor.
+     *
+     * @param zone              The allowed parkour area.
+     * @param jumps             The jump type sampler, which may not contain schematics.
+     * @param heights           The height sampler.
+     * @param distances         The distance sampler.
+     * @param specials          The special block sampler.
+     * @param standardDeviation The standard deviation of the sideways offset.
+     * @param allowSpecial      Whether special jumps use special blocks.
+     * @param latest            The position of the latest jump.
+     * @param heading           The current heading.
+     * @param material          The material of the latest jump.
+     * @param random            The random instance, which is only used by this planner.
+     */
+    public JumpPlanner(@NotNull BoundingBox zone, @NotNull AliasSampler<JumpType> jumps, @NotNull AliasSampler<Integer> heights,
+                       @NotNull AliasSampler<Integer> distances, @NotNull AliasSampler<BlockData> specials,
+                       double standardDeviation, boolean allowSpecial,
+                       @NotNull Vector latest, @NotNull Vector heading, @NotNull Material material, @NotNull SeededRandom random) {
+        this.zone = zone.clone();
+        this.jumps = jumps;
+        this.heights = heights;
+        this.distances = distances;
+        this.specials = specials;
+        this.standardDeviation = standardDeviation;
+        this.allowSpecial = allowSpecial;
+        this.director = new JumpDirector(this.zone);
+        this.random = random;
+
+        this.x = latest.getBlockX();
+        this.y = latest.getBlockY();
+        this.z = latest.getBlockZ();
+        this.headingX = heading.getX();
+        this.headingZ = heading.getZ();
+        this.material = material;
+    }
+
+    private JumpPlanner(JumpPlanner other) {
+        this.zone = other.zone;
+        this.jumps = other.jumps;
+        this.heights = other.heights;
+        this.distances = other.distances;
+        this.specials = other.specials;
+        this.standardDeviation = other.standardDeviation;
+        this.allowSpecial = other.allowSpecial;
+        this.director = new JumpDirector(zone);
+        this.random = other.random.copy();
+
+        this.x = other.x;
+        this.y = other.y;
+        this.z = other.z;
+        this.headingX = other.headingX;
+        this.headingZ = other.headingZ;
+        this.material = other.material;
+    }
+
+    /**
+     * @return A planner which plans the same jumps as this planner would, without affecting this planner.
+     */
+    @NotNull
+    public JumpPlanner copy() {
+        return new JumpPlanner(this);
+    }
+
+    /**
+     * @param jumps The jump type sampler.
+     * @return True when this planner uses this jump type sampler.
+     */
+    public boolean uses(@NotNull AliasSampler<JumpType> jumps) {
+        return this.jumps == jumps;
+    }
+
+    /**
+     * Plans the next jump.
+     * This is done by choosing a random value for the sideways movement.
+     * Based on this sideways movement, a value for forward movement will be chosen.
+     * This is done to ensure players are able to complete the jump.
+     *
+     * @return The jump.
+     */
+    @NotNull
+    public Jump next() {
+        int height = heights.sample(random);
+        int distance = distances.sample(random);
+
+        director.update(x, y, z);
+
+        int recommendedHeadingX = director.getRecommendedHeadingX();
+        int recommendedHeadingZ = director.getRecommendedHeadingZ();
+
+        if (recommendedHeadingX != 0 || recommendedHeadingZ != 0) {
+            headingX = recommendedHeadingX;
+            headingZ = recommendedHeadingZ;
+        }
+
+        int recommendedHeight = director.getRecommendedHeight();
+
+        if (recommendedHeight != 0) {
+            height = recommendedHeight;
+        }
+
+        // ensure special is possible
+        switch (material) {
+            case SMOOTH_QUARTZ_SLAB -> height = Math.min(height, 0);
+            case GLASS_PANE -> distance = Math.min(distance, 3);
+        }
+
+        if (height > 0) {
+            distance = Math.max(distance - height, 1);
+        }
+
+        int randomOffset = JumpOffsetGenerator.of(height, distance).getRandomOffset(0, standardDeviation, random);
+
+        move(distance + 1, height, randomOffset);
+
+        BlockData special = jumps.sample(random) == JumpType.SPECIAL && allowSpecial ? specials.sample(random) : null;
+
+        // fences are placed a block lower, since they are 1.5 blocks high
+        if (special instanceof Fence) {
+            y--;
+        }
+
+        // the style of normal blocks is only selected when they are placed, so only special blocks are tracked
+        material = special != null ? special.getMaterial() : Material.AIR;
+
+        return new Jump(x, y, z, special, headingX, headingZ);
+    }
+
+    // moves by an offset, which is rotated from the default heading to the current heading
+    // headings along an axis are rotated exactly in steps of 90 degrees
+    private void move(int dx, int dy, int dz) {
+        int axisX = (int) headingX;
+        int axisZ = (int) headingZ;
+
+        if (axisX != headingX || axisZ != headingZ || Math.abs(axisX) + Math.abs(axisZ) != 1) { // diagonal
+            Vector heading = new Vector(headingX, 0, headingZ);
+            Vector offset = new Vector(dx, dy, dz).rotateAroundY(angleInY(heading, Option.HEADING));
+
+            x = (int) Math.floor(x + offset.getX());
+            y = (int) Math.floor(y + offset.getY());
+            z = (int) Math.floor(z + offset.getZ());
+            return;
+        }
+
+        // cos and sin of the angle between the headings, which are -1, 0 or 1 for axis headings
+        int cos = axisX * Option.HEADING.getBlockX() + axisZ * Option.HEADING.getBlockZ();
+        int sin = axisX * Option.HEADING.getBlockZ() - axisZ * Option.HEADING.getBlockX();
+
+        x += cos * dx + sin * dz;
+        y += dy;
+        z += -sin * dx + cos * dz;
+    }
+
+    private static double angleInY(Vector a, Vector b) {
+        double det = a.getX() * b.getZ() - a.getZ() * b.getX();
+        return Math.atan2(det, a.dot(b));
+    }
+
+    /**
+     * A planned jump.
+     *
+     * @param x        The x coordinate of the block.
+     * @param y        The y coordinate of the block.
+     * @param z        The z coordinate of the block.
+     * @param special  The special block, or null if the block should use the player's style.
+     * @param headingX The x component of the heading after this jump.
+     * @param headingZ The z component of the heading after this jump.
+     */
+    public record Jump(int x, int y, int z, @Nullable BlockData special, double headingX, double headingZ) {
+
+    }
+}
@@ -6,7 +6,6 @@ import dev.efnilite.ip.api.event.ParkourBlockGenerateEvent;
 import dev.efnilite.ip.api.event.ParkourFallEvent;
 import dev.efnilite.ip.api.event.ParkourSchematicGenerateEvent;
 import dev.efnilite.ip.api.event.ParkourScoreEvent;
-import dev.efnilite.ip.config.Config;
 import dev.efnilite.ip.config.Option;
 import dev.efnilite.ip.leaderboard.Leaderboard;
 import dev.efnilite.ip.leaderboard.Score;
@@ -15,17 +14,17 @@ import dev.efnilite.ip.mode.Mode;
 import dev.efnilite.ip.mode.Modes;
 import dev.efnilite.ip.player.ParkourPlayer;
 import dev.efnilite.ip.player.ParkourSpectator;
+import dev.efnilite.ip.reward.IntervalSchedule;
 import dev.efnilite.ip.reward.Rewards;
+import dev.efnilite.ip.schematic.ParkourSchematic;
 import dev.efnilite.ip.schematic.Schematics;
 import dev.efnilite.ip.session.Session;
 import dev.efnilite.ip.style.Style;
+import dev.efnilite.ip.util.AliasSampler;
+import dev.efnilite.ip.util.SeededRandom;
+import dev.efnilite.ip.world.BlockScheduler.Priority;
 import dev.efnilite.ip.world.WorldDivider;
-import dev.efnilite.vilib.particle.ParticleData;
-import dev.efnilite.vilib.particle.Particles;
 import dev.efnilite.vilib.schematic.Schematic;
-import dev.efnilite.vilib.util.Colls;
-import dev.efnilite.vilib.util.Locations;
-import dev.efnilite.vilib.util.Probs;
 import dev.efnilite.vilib.util.Task;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -33,7 +32,7 @@ import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.type.Fence;
 import org.bukkit.block.data.type.GlassPane;
-import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.entity.Player;
 import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
@@ -42,6 +41,8 @@ import org.jetbrains.annotations.Nullable;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 
 /**
  * The class that generates the parkour, which each {@link ParkourPlayer} has.
@@ -56,6 +57,10 @@ public class ParkourGenerator {
      */
     public static final int BLOCK_TRAIL = 2;
 
+    // bit flags for the jump type sampler variants
+    private static final int EXCLUDE_SCHEMATICS = 1;
+    private static final int EXCLUDE_SPECIAL = 2;
+
     /**
      * This generator's score
      */
@@ -66,6 +71,11 @@ public class ParkourGenerator {
      */
     public int totalScore = 0;
 
+    /**
+     * The next multiple of every interval reward. Made again when the score it was made for has changed.
+     */
+    private IntervalSchedule intervalSchedule;
+
     /**
      * The schematic cooldown
      */
@@ -87,9 +97,13 @@ public class ParkourGenerator {
     public ParkourPlayer player;
 
     /**
-     * The task used in checking the player's current location
+     * Whether this generator is ticked by the {@link GeneratorTicker}.
      */
-    public BukkitTask task;
+    private boolean ticking;
+
+    // the time spent in tick()
+    private long lastTickNanos;
+    private double averageTickNanos;
 
     /**
      * Where blocks from schematics spawn
@@ -134,12 +148,12 @@ public class ParkourGenerator {
     /**
      * The chances of which distance the jump should have
      */
-    public final Map<Integer, Double> distanceChances = new HashMap<>();
+    public final Map<Integer, Double> distanceChances = new TreeMap<>();
 
     /**
      * The chances of which height the jump should have
      */
-    public final Map<Integer, Double> heightChances = new HashMap<>();
+    public final Map<Integer, Double> heightChances = new TreeMap<>();
 
     /**
      * The chances of which type of special jump
@@ -149,7 +163,48 @@ public class ParkourGenerator {
     /**
      * The chances of default jump types: schematic, 'special' (ice, etc.) or normal
      */
-    public final Map<JumpType, Double> defaultChances = new HashMap<>();
+    public final Map<JumpType, Double> defaultChances = new EnumMap<>(JumpType.class);
+
+    /**
+     * The chance maps compiled into samplers. Null when the chance maps need to be compiled again.
+     *
+     * @see #compileChances()
+     */
+    private Samplers samplers;
+
+    /**
+     * The jumps that have been planned but not generated yet.
+     */
+    private final ArrayDeque<JumpPlanner.Jump> plan = new ArrayDeque<>();
+
+    /**
+     * Plans jumps from the last planned jump, with the zone and heading it was created for.
+     * Null when the plan has been invalidated.
+     */
+    private JumpPlanner planner;
+    private Location[] plannerZone;
+    private double plannerHeadingX;
+    private double plannerHeadingZ;
+
+    /**
+     * Incremented when the plan changes on the main thread, to discard jumps that were planned from an outdated plan.
+     */
+    private int planVersion;
+    private boolean planning;
+
+    /**
+     * The jumps generated before the player landed, by predicting where the player will land.
+     * Removed again when the player lands elsewhere.
+     */
+    private final ArrayDeque<JumpPlanner.Jump> predicted = new ArrayDeque<>();
+    private Vector predictedHeading;
+
+    /**
+     * The amount of upcoming jumps that have already been rolled to not be a schematic, and the schematic rolled after them.
+     * Prediction rolls jump types ahead of time, and these rolls are used when the jumps are generated again after a rollback.
+     */
+    private int rolledJumps;
+    private ParkourSchematic rolledSchematic;
 
     /**
      * Whether the schematic should be deleted on the next jump.
@@ -173,9 +228,21 @@ public class ParkourGenerator {
     protected int lastPositionIndexPlayer = -1;
 
     /**
-     * The history of generated blocks. The most recently generated block is the last item in the list.
+     * The history of generated blocks. The most recently generated block has the highest index.
      */
-    protected List<Block> history = new ArrayList<>();
+    protected final BlockHistory history = new BlockHistory();
+
+    /**
+     * The blocks that are only sent to the viewers of this session, or null if blocks are placed in the world.
+     */
+    @Nullable
+    protected final ClientBlocks clientBlocks;
+
+    /**
+     * The source of all randomness in this generator, so the same seed generates the same parkour.
+     */
+    protected final SeededRandom random;
+    private long seed;
 
     /**
      * Creates a new ParkourGenerator instance
@@ -191,6 +258,9 @@ public class ParkourGenerator {
         player = session.getPlayers().get(0);
         island = new Island(session, schematic);
         zone = WorldDivider.toSelection(session);
+        clientBlocks = Option.CLIENT_SIDE_BLOCKS ? new ClientBlocks(session) : null;
+        seed = ThreadLocalRandom.current().nextLong();
+        random = new SeededRandom(seed);
 
         calculateChances();
     }
@@ -205,6 +275,33 @@ public class ParkourGenerator {
         this(session, Schematics.CACHE.get("spawn-island"), generatorOptions);
     }
 
+    /**
+     * @return The seed this generator was created or last reseeded with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed of this generator and discards all planned jumps.
+     * Parkour generated after a reset with the same seed and settings is the same.
+     *
+     * @param seed The seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+        invalidatePlan();
+    }
+
+    /**
+     * @return The random instance of this generator. Only use this on the main thread.
+     */
+    @NotNull
+    public Random getRandom() {
+        return random;
+    }
+
     /**
      * Ensures generator preferences in profile can't be overridden by the player changing settings.
      */
@@ -213,6 +310,7 @@ public class ParkourGenerator {
     /**
      * Calculates all chances for every variable.
      * Modification is possible in the generator constructor or through external map changes.
+     * Changes made after the first jump has been generated require {@link #compileChances()}.
      */
     protected void calculateChances() {
         defaultChances.clear();
@@ -237,6 +335,48 @@ public class ParkourGenerator {
         specialChances.put(Material.SMOOTH_QUARTZ_SLAB.createBlockData("[type=bottom]"), Option.SPECIAL_SLAB);
         specialChances.put(Material.GLASS_PANE.createBlockData(), Option.SPECIAL_PANE);
         specialChances.put(Material.OAK_FENCE.createBlockData(), Option.SPECIAL_FENCE);
+
+        samplers = null;
+    }
+
+    /**
+     * Compiles the chance maps into samplers, so generating a jump doesn't need to go over the maps.
+     * Jump type samplers are compiled for every combination of schematics and special blocks being excluded.
+     */
+    public void compileChances() {
+        List<AliasSampler<JumpType>> jumps = new ArrayList<>();
+
+        for (int variant = 0; variant < 4; variant++) {
+            Map<JumpType, Double> chances = new EnumMap<>(JumpType.class);
+            chances.putAll(defaultChances);
+
+            if ((variant & EXCLUDE_SCHEMATICS) != 0) {
+                chances.remove(JumpType.SCHEMATIC);
+            }
+            if ((variant & EXCLUDE_SPECIAL) != 0) {
+                chances.remove(JumpType.SPECIAL);
+            }
+            if (chances.isEmpty()) {
+                chances.put(JumpType.DEFAULT, 1.0);
+            }
+
+            jumps.add(AliasSampler.of(chances));
+        }
+
+        // the values are sorted, so the same seed gives the same parkour after a restart. block data has no fixed hash code
+        samplers = new Samplers(List.copyOf(jumps),
+                AliasSampler.of(heightChances, Comparator.naturalOrder()),
+                AliasSampler.of(distanceChances, Comparator.naturalOrder()),
+                AliasSampler.of(specialChances, Comparator.comparing(BlockData::getAsString)));
+    }
+
+    // returns the compiled samplers, compiling them if the chances have been recalculated
+    private Samplers getSamplers() {
+        if (samplers == null) {
+            compileChances();
+        }
+
+        return samplers;
     }
 
     /**
@@ -249,18 +389,7 @@ public class ParkourGenerator {
             return;
         }
 
-        ParticleData<?> data = Option.PARTICLE_DATA;
-        List<Location> locations = blocks.stream().map(Block::getLocation).toList();
-        Location max = locations.stream().reduce(Locations::max).orElseThrow();
-        Location min = locations.stream().reduce(Locations::min).orElseThrow();
-        Location center = min.clone().add(max.clone().subtract(min));
-
-        // display particle
-        switch (Option.PARTICLE_SHAPE) {
-            case DOT -> Particles.draw(center.add(0.5, 1, 0.5), data.speed(0.4).size(20).offsetX(0.5).offsetY(1).offsetZ(0.5));
-            case CIRCLE -> Particles.circle(center.add(0.5, 0.5, 0.5), data.size(5), (int) Math.sqrt(blocks.size()), 20);
-            case BOX -> Particles.box(BoundingBox.of(max, min), player.player.getWorld(), data.size(1), 0.2);
-        }
+        IP.getEffectBatcher().particles(getViewers(player -> player.particles), blocks);
     }
 
     /**
@@ -273,9 +402,19 @@ public class ParkourGenerator {
             return;
         }
 
-        // play sound
-        getPlayers().forEach(viewer -> viewer.player.playSound(blocks.get(0).getLocation(), Option.SOUND_TYPE, 4, Option.SOUND_PITCH));
-        getSpectators().forEach(viewer -> viewer.player.playSound(blocks.get(0).getLocation(), Option.SOUND_TYPE, 4, Option.SOUND_PITCH));
+        IP.getEffectBatcher().sound(getViewers(player -> player.sound), blocks);
+    }
+
+    // returns the players that have not disabled an effect, and all spectators
+    private List<Player> getViewers(Function<ParkourPlayer, Boolean> setting) {
+        List<Player> viewers = new ArrayList<>();
+
+        getPlayers().stream()
+                .filter(player -> !Boolean.FALSE.equals(setting.apply(player)))
+                .forEach(player -> viewers.add(player.player));
+        getSpectators().forEach(spectator -> viewers.add(spectator.player));
+
+        return viewers;
     }
 
     protected BlockData selectBlockData() {
@@ -289,87 +428,142 @@ public class ParkourGenerator {
         return style.get(session);
     }
 
-    protected List<Block> selectBlocks() {
-        int height = Probs.random(heightChances);
-        int distance = Probs.random(distanceChances);
+    /**
+     * Returns the next planned jump, planning it if it hasn't been planned yet, and sets the heading to the heading of this jump.
+     * The plan is made again when the zone, heading or chances have changed.
+     *
+     * @return The next jump.
+     */
+    protected JumpPlanner.Jump nextJump() {
+        AliasSampler<JumpType> jumps = getSamplers().jumps().get(profile.get("useSpecialBlocks").asBoolean() ? EXCLUDE_SCHEMATICS : EXCLUDE_SCHEMATICS | EXCLUDE_SPECIAL);
+
+        if (planner == null || plannerZone != zone || !planner.uses(jumps) || plannerHeadingX != heading.getX() || plannerHeadingZ != heading.getZ()) {
+            invalidatePlan();
+
+            Block latest = getLatest();
+            planner = new JumpPlanner(BoundingBox.of(zone[0], zone[1]), jumps, samplers.height(), samplers.distance(), samplers.special(),
+                    generatorOptions.contains(GeneratorOption.REDUCE_RANDOM_BLOCK_SELECTION_ANGLE) ? 0.6 : 1,
+                    !generatorOptions.contains(GeneratorOption.DISABLE_SPECIAL),
+                    latest.getLocation().toVector(), heading, getType(latest), random.split());
+            plannerZone = zone;
+        }
 
-        return List.of(selectNext(getLatest(), distance, height));
-    }
+        JumpPlanner.Jump jump = plan.poll();
+        if (jump == null) { // not planned in time
+            jump = planner.next();
+            planVersion++;
+        }
 
-    // Selects the next block that will continue the parkour.
-    // This is done by choosing a random value for the sideways movement.
-    // Based on this sideways movement, a value for forward movement will be chosen.
-    // This is done to ensure players are able to complete the jump.
-    protected Block selectNext(Block current, int distance, int height) {
-        JumpDirector director = new JumpDirector(BoundingBox.of(zone[0], zone[1]), getLatest().getLocation().toVector());
+        heading.setX(jump.headingX()).setY(0).setZ(jump.headingZ());
+        plannerHeadingX = jump.headingX();
+        plannerHeadingZ = jump.headingZ();
 
-        Vector recommendedHeading = director.getRecommendedHeading();
+        planAhead();
 
-        if (!recommendedHeading.equals(new Vector(0, 0, 0))) {
-            heading = recommendedHeading;
-        }
+        return jump;
+    }
 
-        int recommendedHeight = director.getRecommendedHeight();
+    // plans jumps on another thread, until enough jumps have been planned for the block lead
+    private void planAhead() {
+        int missing = profile.get("blockLead").asInt() - plan.size();
 
-        if (recommendedHeight != 0) {
-            height = recommendedHeight;
+        if (planning || stopped || missing <= 0) {
+            return;
         }
 
-        // ensure special is possible
-        switch (getLatest().getType()) {
-            case SMOOTH_QUARTZ_SLAB -> height = Math.min(height, 0);
-            case GLASS_PANE -> distance = Math.min(distance, 3);
-        }
+        planning = true;
+        int version = planVersion;
+        JumpPlanner copy = planner.copy();
 
-        if (height > 0) {
-            distance = Math.max(distance - height, 1);
-        }
+        Task.create(IP.getPlugin()).async().execute(() -> {
+            List<JumpPlanner.Jump> jumps = new ArrayList<>(missing);
+            for (int i = 0; i < missing; i++) {
+                jumps.add(copy.next());
+            }
 
-        double mean = 0;
-        double standardDeviation = generatorOptions.contains(GeneratorOption.REDUCE_RANDOM_BLOCK_SELECTION_ANGLE) ? 0.6 : 1;
+            if (!IP.getPlugin().isEnabled()) {
+                return;
+            }
 
-        int randomOffset = new JumpOffsetGenerator(height, distance).getRandomOffset(mean, standardDeviation);
+            Task.create(IP.getPlugin()).execute(() -> {
+                planning = false;
 
-        Vector offset = new Vector(distance + 1, height, randomOffset);
+                if (version != planVersion) { // planned from an outdated plan
+                    if (planner != null) {
+                        planAhead();
+                    }
+                    return;
+                }
 
-        // rotate offset to match heading
-        offset.rotateAroundY(angleInY(heading, Option.HEADING.clone()));
+                plan.addAll(jumps);
+                planner = copy;
+            }).run();
+        }).run();
+    }
 
-        return current.getLocation().add(offset).getBlock();
+    /**
+     * Discards all planned jumps. The next jump will be planned from the latest block and the current heading.
+     */
+    protected void invalidatePlan() {
+        plan.clear();
+        planner = null;
+        plannerZone = null;
+        planVersion++;
     }
 
     protected void score() {
-        score++;
-        totalScore++;
+        score(1);
+    }
 
-        checkRewards();
-        new ParkourScoreEvent(player).call();
+    /**
+     * Adds points to the score at once, calling a single {@link ParkourScoreEvent}.
+     *
+     * @param delta The amount of points.
+     */
+    protected void score(int delta) {
+        if (delta <= 0) {
+            return;
+        }
+
+        int oldScore = score;
+        int oldTotalScore = totalScore;
+
+        score += delta;
+        totalScore += delta;
+
+        checkRewards(oldScore, oldTotalScore);
+        new ParkourScoreEvent(player, oldScore, score).call();
     }
 
-    private void checkRewards() {
-        if (!Rewards.REWARDS_ENABLED || score == 0) {
+    // executes the rewards of every score between the old score (exclusive) and the current score (inclusive)
+    private void checkRewards(int oldScore, int oldTotalScore) {
+        if (!Rewards.REWARDS_ENABLED) {
             return;
         }
 
         // check generic score rewards
-        if (Rewards.SCORE_REWARDS.containsKey(score)) {
-            Rewards.SCORE_REWARDS.get(score).forEach(s -> s.execute(player, getMode()));
-        }
+        Rewards.SCORE_REWARDS.subMap(oldScore, false, score, true)
+                .values()
+                .forEach(rewards -> rewards.forEach(s -> s.execute(player, getMode())));
 
         // gets the correct type of score to check based on the config option
+        int oldIntervalScore = Option.REWARDS_USE_TOTAL_SCORE ? oldTotalScore : oldScore;
         int intervalScore = Option.REWARDS_USE_TOTAL_SCORE ? totalScore : score;
-        for (int interval : Rewards.INTERVAL_REWARDS.keySet()) {
-            if (intervalScore % interval != 0) {
-                continue;
-            }
-
-            Rewards.INTERVAL_REWARDS.get(interval).forEach(s -> s.execute(player, getMode()));
+        // the schedule is made again when the score was reset or the rewards were reloaded
+        if (intervalSchedule == null || intervalSchedule.getScore() != oldIntervalScore || !intervalSchedule.uses(Rewards.INTERVAL_REWARDS)) {
+            intervalSchedule = new IntervalSchedule(Rewards.INTERVAL_REWARDS, oldIntervalScore);
         }
 
-        if (Rewards.ONE_TIME_REWARDS.containsKey(score) && !player.collectedRewards.contains(Integer.toString(score))) {
-            Rewards.ONE_TIME_REWARDS.get(score).forEach(s -> s.execute(player, getMode()));
-            player.collectedRewards.add(Integer.toString(score));
-        }
+        // every multiple of every interval that was passed
+        intervalSchedule.advance(intervalScore, interval -> Rewards.INTERVAL_REWARDS.get(interval).forEach(s -> s.execute(player, getMode())));
+
+        Rewards.ONE_TIME_REWARDS.subMap(oldScore, false, score, true).forEach((value, rewards) -> {
+            if (!player.collectedRewards.add(value)) { // already collected
+                return;
+            }
+
+            rewards.forEach(s -> s.execute(player, getMode()));
+        });
     }
 
     protected void fall() {
@@ -381,53 +575,102 @@ public class ParkourGenerator {
         Menus.PARKOUR_SETTINGS.open(player);
     }
 
+    /**
+     * Starts ticking this generator. Ticking stops when this generator is stopped.
+     */
     public void startTick() {
-        task = Task.create(IP.getPlugin())
-            .repeat(generatorOptions.contains(GeneratorOption.INCREASED_TICK_ACCURACY) ? 1 : Option.GENERATOR_CHECK)
-            .execute(this::tick)
-            .run();
+        ticking = true;
     }
 
     /**
-     * Starts the check
+     * @return True when this generator should be ticked.
+     */
+    public boolean isTicking() {
+        return ticking && !stopped;
+    }
+
+    void recordTickTime(long nanos) {
+        lastTickNanos = nanos;
+        averageTickNanos = averageTickNanos * 0.95 + nanos * 0.05;
+    }
+
+    /**
+     * @return The time spent in the previous tick of this generator, in nanoseconds.
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * @return The moving average of the time spent per tick of this generator, in nanoseconds.
+     */
+    public double getAverageTickNanos() {
+        return averageTickNanos;
+    }
+
+    /**
+     * Updates the players and spectators, and checks whether the player has fallen.
+     * Progress is checked by {@link #onMove(Location, Location)}.
      */
     public void tick() {
         if (stopped) {
-            task.cancel();
             return;
         }
 
         getPlayers().forEach(other -> {
             updateVisualTime(other, other.selectedTime);
-            other.updateScoreboard(this);
-            other.player.setSaturation(20);
+            other.clientState.setSaturation(20);
         });
 
         getSpectators().forEach(ParkourSpectator::update);
 
-        if (player.getLocation().getWorld() != lastStandingPlayerLocation.getWorld()) {
+        if (clientBlocks != null) {
+            clientBlocks.tick();
+        }
+
+        // fallback fall check, for falls which are not seen by onMove
+        Location location = player.getLocation();
+
+        if (location.getWorld() != lastStandingPlayerLocation.getWorld()) {
             return;
         }
 
-        if (player.getLocation().subtract(lastStandingPlayerLocation).getY() < -10) { // fall check
+        if (location.getY() - lastStandingPlayerLocation.getY() < -10) {
+            fall();
+        }
+    }
+
+    /**
+     * Checks the progress of the player. Called when the player moves to another block.
+     *
+     * @param from The previous location of the player.
+     * @param to   The new location of the player.
+     */
+    public void onMove(@NotNull Location from, @NotNull Location to) {
+        if (!isTicking() || to.getWorld() != lastStandingPlayerLocation.getWorld()) {
+            return;
+        }
+
+        if (to.getY() - lastStandingPlayerLocation.getY() < -10) { // fall check
             fall();
             return;
         }
 
-        Location belowPlayer = player.getLocation().subtract(0, 1, 0);
+        Location belowPlayer = to.clone().subtract(0, 1, 0);
         Block blockBelowPlayer = belowPlayer.getBlock(); // Get the block below
 
-        if (blockBelowPlayer.getType() == Material.AIR) {
-            if (belowPlayer.subtract(0, 0.5, 0).getBlock().getType() == Material.AIR) {
+        if (getType(blockBelowPlayer) == Material.AIR) {
+            if (getType(belowPlayer.subtract(0, 0.5, 0).getBlock()) == Material.AIR) {
+                if (Option.PREDICTIVE_GENERATION) {
+                    predict(to, to.toVector().subtract(from.toVector()));
+                }
                 return;
             }
             blockBelowPlayer = belowPlayer.getBlock();
         }
 
-        if (schematicBlocks.contains(blockBelowPlayer) && blockBelowPlayer.getType() == Material.RED_WOOL && !deleteSchematic) { // Structure deletion check
-            for (int i = 0; i < getDifficultyScore() * 15; i++) {
-                score();
-            }
+        if (schematicBlocks.contains(blockBelowPlayer) && getType(blockBelowPlayer) == Material.RED_WOOL && !deleteSchematic) { // Structure deletion check
+            score((int) Math.ceil(getDifficultyScore() * 15));
             waitForSchematicCompletion = false;
             schematicCooldown = Option.SCHEMATIC_COOLDOWN;
             generate(profile.get("blockLead").asInt());
@@ -435,18 +678,21 @@ public class ParkourGenerator {
             return;
         }
 
-        if (!history.contains(blockBelowPlayer)) {
+        int currentIndex = history.indexOf(blockBelowPlayer); // current index of the player
+        if (currentIndex == -1) {
             return; // player is on an unknown block
         }
 
-        int currentIndex = history.indexOf(blockBelowPlayer); // current index of the player
         int deltaFromLast = currentIndex - lastPositionIndexPlayer;
 
         if (deltaFromLast <= 0) { // the player is actually making progress and not going backwards (current index is higher than the previous)
+            rollback(currentIndex);
             return;
         }
 
-        lastStandingPlayerLocation = player.getLocation();
+        rollback(currentIndex);
+
+        lastStandingPlayerLocation = to.clone();
 
         int blockLead = profile.get("blockLead").asInt();
 
@@ -462,20 +708,103 @@ public class ParkourGenerator {
                 continue;
             }
 
-            history.get(i).setType(Material.AIR);
+            Block block = history.get(i);
+            if (block != null) {
+                removeBlock(block);
+            }
         }
 
         deleteSchematic();
 
-        for (int i = 0; i < (Option.ALL_POINTS ? deltaFromLast : 1); i++) { // score the difference
-            score();
-        }
+        score(Option.ALL_POINTS ? deltaFromLast : 1); // score the difference
 
         if (start == null) { // start stopwatch when first point is achieved
             start = Instant.now();
         }
     }
 
+    // simulates the jump of the player to find the block they will land on, and generates the blocks as if they already landed
+    private void predict(Location location, Vector velocity) {
+        if (!predicted.isEmpty() || velocity.getY() >= 0 || waitForSchematicCompletion || !schematicBlocks.isEmpty()) {
+            return;
+        }
+
+        Vector position = location.toVector();
+        double minY = lastStandingPlayerLocation.getY() - 10;
+
+        for (int tick = 0; tick < 40 && position.getY() > minY; tick++) {
+            // the gravity and drag of players in the air
+            velocity.setX(velocity.getX() * 0.91)
+                    .setY((velocity.getY() - 0.08) * 0.98)
+                    .setZ(velocity.getZ() * 0.91);
+            position.add(velocity);
+
+            int index = history.indexOf(BlockHistory.pack(position.getBlockX(), position.getBlockY(), position.getBlockZ()));
+            if (index == -1) {
+                continue;
+            }
+
+            if (index <= lastPositionIndexPlayer) { // the player will not make progress
+                return;
+            }
+
+            int amount = profile.get("blockLead").asInt() - (history.size() - index) + 1;
+            if (amount <= 0) {
+                return;
+            }
+
+            predictedHeading = heading.clone();
+
+            List<Block> blocks = new ArrayList<>(amount);
+            for (int i = 0; i < amount; i++) {
+                ParkourSchematic schematic = nextSchematic();
+                if (schematic != null) { // schematics are only pasted once the player has landed
+                    rolledSchematic = schematic;
+                    break;
+                }
+
+                JumpPlanner.Jump jump = nextJump();
+                blocks.add(placeJump(jump));
+                predicted.add(jump);
+            }
+
+            announce(blocks);
+            return;
+        }
+    }
+
+    // removes the predicted jumps that would not have been generated when landing at index, so they are generated again later
+    // the other predicted jumps are kept, as they would have been generated anyway
+    private void rollback(int index) {
+        if (predictedHeading == null) {
+            return;
+        }
+
+        int blockLead = profile.get("blockLead").asInt();
+
+        while (!predicted.isEmpty() && history.size() - index > blockLead + 1) {
+            long position = history.removeLatest();
+            removeBlock(getLatest().getWorld().getBlockAt(BlockHistory.unpackX(position), BlockHistory.unpackY(position), BlockHistory.unpackZ(position)));
+
+            plan.addFirst(predicted.removeLast());
+            schematicCooldown++;
+            rolledJumps++;
+        }
+
+        JumpPlanner.Jump last = predicted.peekLast();
+        if (last != null) {
+            heading.setX(last.headingX()).setY(0).setZ(last.headingZ());
+        } else {
+            heading = predictedHeading;
+        }
+
+        plannerHeadingX = heading.getX();
+        plannerHeadingZ = heading.getZ();
+
+        predicted.clear();
+        predictedHeading = null;
+    }
+
     // updates the player time
     protected void updateVisualTime(ParkourPlayer player, int selectedTime) {
         int newTime = 18000 + selectedTime;
@@ -483,7 +812,7 @@ public class ParkourGenerator {
             newTime -= 24000;
         }
 
-        player.player.setPlayerTime(newTime, false);
+        player.clientState.setTime(newTime);
     }
 
     /**
@@ -492,9 +821,19 @@ public class ParkourGenerator {
      * @param regenerate True if parkour should regenerate, false if not.
      */
     public void reset(boolean regenerate) {
+        reset(regenerate, true);
+    }
+
+    /**
+     * Resets the parkour. If regenerate is false, this generator is stopped and the island is destroyed.
+     *
+     * @param regenerate True if parkour should regenerate, false if not.
+     * @param finish     True if the current run should end as a fall, showing the fall message and registering the score, false if it is discarded.
+     */
+    public void reset(boolean regenerate, boolean finish) {
         stopped = !regenerate;
 
-        if (!regenerate && task == null) {
+        if (!regenerate && !ticking) {
             IP.logging().warn("## Incomplete joining setup.");
             IP.logging().warn("## There has probably been an error somewhere. Please report this error!");
             IP.logging().warn("## You don't have to report this warning.");
@@ -502,8 +841,10 @@ public class ParkourGenerator {
 
         lastPositionIndexPlayer = 0;
         if (!history.isEmpty()) {
-            history.remove(0);
-            history.forEach(block -> block.setType(Material.AIR, false));
+            // skip the first block, which is part of the island
+            for (int i = Math.max(1, history.getOldestIndex()); i < history.size(); i++) {
+                removeBlock(Objects.requireNonNull(history.get(i)));
+            }
             history.clear();
         }
 
@@ -511,41 +852,48 @@ public class ParkourGenerator {
         deleteSchematic = true;
         deleteSchematic();
 
-        Leaderboard leaderboard = getMode().getLeaderboard();
-        int record = leaderboard != null ? leaderboard.get(player.getUUID()).score() : 0;
-        String time = getTime();
-
-        if (profile.get("showFallMessage").asBoolean()) {
-            String message;
-            int number = 0;
-
-            if (score == record) {
-                message = "settings.parkour_settings.items.fall_message.formats.tied";
-            } else if (score > record) {
-                number = score - record;
-                message = "settings.parkour_settings.items.fall_message.formats.beat";
-            } else {
-                number = record - score;
-                message = "settings.parkour_settings.items.fall_message.formats.miss";
+        if (finish) {
+            Leaderboard leaderboard = getMode().getLeaderboard();
+            int record = leaderboard != null ? leaderboard.get(player.getUUID()).score() : 0;
+            String time = getTime();
+
+            if (profile.get("showFallMessage").asBoolean()) {
+                String message;
+                int number = 0;
+
+                if (score == record) {
+                    message = "settings.parkour_settings.items.fall_message.formats.tied";
+                } else if (score > record) {
+                    number = score - record;
+                    message = "settings.parkour_settings.items.fall_message.formats.beat";
+                } else {
+                    number = record - score;
+                    message = "settings.parkour_settings.items.fall_message.formats.miss";
+                }
+
+                for (ParkourPlayer players : getPlayers()) {
+                    players.sendTranslated("settings.parkour_settings.items.fall_message.divider");
+                    players.sendTranslated("settings.parkour_settings.items.fall_message.score", Integer.toString(score));
+                    players.sendTranslated("settings.parkour_settings.items.fall_message.time", time);
+                    players.sendTranslated("settings.parkour_settings.items.fall_message.high_score", Integer.toString(record));
+                    players.sendTranslated(message, Integer.toString(number));
+                    players.sendTranslated("settings.parkour_settings.items.fall_message.divider");
+                }
             }
 
-            for (ParkourPlayer players : getPlayers()) {
-                players.sendTranslated("settings.parkour_settings.items.fall_message.divider");
-                players.sendTranslated("settings.parkour_settings.items.fall_message.score", Integer.toString(score));
-                players.sendTranslated("settings.parkour_settings.items.fall_message.time", time);
-                players.sendTranslated("settings.parkour_settings.items.fall_message.high_score", Integer.toString(record));
-                players.sendTranslated(message, Integer.toString(number));
-                players.sendTranslated("settings.parkour_settings.items.fall_message.divider");
+            if (leaderboard != null && score > record) {
+                registerScore(getTime(), Double.toString(getDifficultyScore()).substring(0, 3), score);
             }
         }
 
-        if (leaderboard != null && score > record) {
-            registerScore(getTime(), Double.toString(getDifficultyScore()).substring(0, 3), score);
-        }
-
         score = 0;
         start = null;
-        heading = Option.HEADING;
+        heading = Option.HEADING.clone();
+        predicted.clear();
+        predictedHeading = null;
+        rolledJumps = 0;
+        rolledSchematic = null;
+        invalidatePlan();
 
         if (regenerate) { // generate back the blocks
             player.teleport(playerSpawn);
@@ -556,7 +904,7 @@ public class ParkourGenerator {
         island.destroy();
 
         if (getPlayers().isEmpty()) {
-            getSpectators().forEach(spectator -> Modes.DEFAULT.create(spectator.player));
+            getSpectators().forEach(spectator -> Modes.DEFAULT.join(spectator.player));
         }
     }
 
@@ -575,7 +923,7 @@ public class ParkourGenerator {
             return;
         }
 
-        schematicBlocks.forEach(block -> block.setType(Material.AIR));
+        schematicBlocks.forEach(this::removeBlock);
         schematicBlocks.clear();
 
         deleteSchematic = false;
@@ -586,139 +934,178 @@ public class ParkourGenerator {
      * Generates the next parkour block or schematic.
      */
     public void generate() {
-        if (waitForSchematicCompletion) {
-            return;
-        }
+        generateBatch(1);
+    }
 
-        Map<JumpType, Double> chances = new HashMap<>(defaultChances);
-        if (schematicCooldown > 0 || generatorOptions.contains(GeneratorOption.DISABLE_SCHEMATICS) || profile.get("schematicDifficulty").asDouble() == 0.0 || !schematicBlocks.isEmpty()) {
-            chances.remove(JumpType.SCHEMATIC);
-        }
-        if (!profile.get("useSpecialBlocks").asBoolean()) {
-            chances.remove(JumpType.SPECIAL);
-        }
-        if (chances.isEmpty()) {
-            chances.put(JumpType.DEFAULT, 1.0);
-        }
+    // generates jumps until count jumps have been generated or a schematic has been pasted
+    // the blocks are announced together, with one event, particle effect and sound
+    private void generateBatch(int count) {
+        List<Block> blocks = new ArrayList<>(count);
 
-        JumpType jump = Probs.random(chances);
-        if (jump == JumpType.SCHEMATIC) {
-            double difficulty = profile.get("schematicDifficulty").asDouble();
+        for (int i = 0; i < count && !waitForSchematicCompletion; i++) {
+            ParkourSchematic schematic = nextSchematic();
+            if (schematic != null) {
+                announce(blocks);
+                blocks.clear();
 
-            Schematic schematic = Schematics.CACHE.get(Colls.random(Schematics.CACHE.keySet().stream()
-                    .filter(name -> name.contains("parkour-") && getDifficulty(name) <= difficulty)
-                    .toList()));
+                JumpPlanner.Jump start = nextJump();
+                schematicBlocks = rotatedPaste(schematic, getLatest().getWorld().getBlockAt(start.x(), start.y(), start.z()));
 
-            schematicBlocks = rotatedPaste(schematic, selectBlocks().get(0).getLocation());
+                // the parkour continues from the end of the schematic
+                invalidatePlan();
 
-            particles(schematicBlocks);
-            sound(schematicBlocks);
+                particles(schematicBlocks);
+                sound(schematicBlocks);
 
-            new ParkourSchematicGenerateEvent(schematic, this, player).call();
+                new ParkourSchematicGenerateEvent(schematic.schematic, this, player).call();
 
-            if (schematicBlocks.isEmpty()) {
-                IP.logging().stack("Error while trying to paste schematic %s".formatted(schematic.getFile().getName()), new NoSuchElementException("No schematic blocks found"));
-                return;
+                schematicCooldown = Option.SCHEMATIC_COOLDOWN;
+                waitForSchematicCompletion = true;
+                break;
             }
 
-            schematicCooldown = Option.SCHEMATIC_COOLDOWN;
-            waitForSchematicCompletion = true;
-            return;
+            blocks.add(placeJump(nextJump()));
         }
 
-        List<Block> blocks = selectBlocks();
+        announce(blocks);
+    }
 
-        if (blocks.isEmpty()) {
-            IP.logging().stack("Error while trying to generate parkour", new NoSuchElementException("No blocks to generate found"));
-            return;
+    // rolls whether the next jump is a schematic, using the roll made while predicting if there is one
+    // whether a jump uses a special block is decided when it is planned, since it affects the jump after it
+    private @Nullable ParkourSchematic nextSchematic() {
+        if (rolledJumps > 0) {
+            rolledJumps--;
+            return null;
+        }
+        if (rolledSchematic != null) {
+            ParkourSchematic schematic = rolledSchematic;
+            rolledSchematic = null;
+            return schematic;
         }
 
-        List<Block> movedBlocks = new ArrayList<>();
-        for (Block block : blocks) {
-            BlockData data = (jump == JumpType.SPECIAL && !generatorOptions.contains(GeneratorOption.DISABLE_SPECIAL)) ? Probs.random(specialChances) : selectBlockData();
-
-            if (data instanceof Fence) {
-                block = block.getLocation().subtract(0, 1, 0).getBlock();
-            }
-
-            block.setBlockData(data, data instanceof Fence || data instanceof GlassPane);
-            movedBlocks.add(block);
+        int variant = 0;
+        if (schematicCooldown > 0 || generatorOptions.contains(GeneratorOption.DISABLE_SCHEMATICS) || profile.get("schematicDifficulty").asDouble() == 0.0 || !schematicBlocks.isEmpty()) {
+            variant |= EXCLUDE_SCHEMATICS;
+        }
+        if (!profile.get("useSpecialBlocks").asBoolean()) {
+            variant |= EXCLUDE_SPECIAL;
         }
 
-        new ParkourBlockGenerateEvent(movedBlocks, this, player).call();
+        return (variant & EXCLUDE_SCHEMATICS) == 0 && getSamplers().jumps().get(variant).sample(random) == JumpType.SCHEMATIC ? selectSchematic() : null;
+    }
 
-        particles(movedBlocks);
-        sound(movedBlocks);
+    // places the block of a planned jump, without announcing it
+    private Block placeJump(JumpPlanner.Jump jump) {
+        Block block = getLatest().getWorld().getBlockAt(jump.x(), jump.y(), jump.z());
+        BlockData data = jump.special() != null ? jump.special() : selectBlockData();
 
-        history.addAll(movedBlocks);
+        setBlock(block, data, data instanceof Fence || data instanceof GlassPane);
+        addHistory(block);
         schematicCooldown--;
+
+        return block;
     }
 
-    private @NotNull List<Block> rotatedPaste(Schematic schematic, Location location) {
-        if (schematic == null || location == null) {
-            return Collections.emptyList();
+    // calls the event and shows the effects for newly generated blocks
+    private void announce(List<Block> blocks) {
+        if (blocks.isEmpty()) {
+            return;
         }
 
-        Optional<Vector> optionalStart = schematic.getVectorBlockMap().entrySet().stream()
-                .filter(e -> e.getValue().getMaterial() == Material.LIME_WOOL)
-                .map(Map.Entry::getKey)
-                .findAny();
+        List<Block> generated = List.copyOf(blocks);
 
-        Optional<Vector> optionalEnd = schematic.getVectorBlockMap().entrySet().stream()
-                .filter(e -> e.getValue().getMaterial() == Material.RED_WOOL)
-                .map(Map.Entry::getKey)
-                .findAny();
+        new ParkourBlockGenerateEvent(generated, this, player).call();
 
-        if (optionalStart.isEmpty()) {
-            IP.logging().stack("Error while trying to find start of schematic", "check if you placed a lime wool block");
-            return Collections.emptyList();
-        }
-        if (optionalEnd.isEmpty()) {
-            IP.logging().stack("Error while trying to find end of schematic", "check if you placed a red wool block");
-            return Collections.emptyList();
-        }
+        particles(generated);
+        sound(generated);
+    }
 
-        Vector start = optionalStart.get();
-        Vector end = optionalEnd.get();
-        Vector startToEnd = end.clone().subtract(start);
+    // selects a random schematic within the player's difficulty
+    private @Nullable ParkourSchematic selectSchematic() {
+        return Schematics.getIndex().random(profile.get("schematicDifficulty").asDouble(), random);
+    }
 
-        /// snapped vector, supports no rotation if x == z
-        Vector snapped;
-        if (startToEnd.equals(heading)) {
-            snapped = new Vector(0, 0, 0);
-        } else if (Math.abs(startToEnd.getX()) > Math.abs(startToEnd.getZ())) {
-            snapped = new Vector(Math.signum(startToEnd.getX()), 0, 0);
-        } else {
-            snapped = new Vector(0, 0, Math.signum(startToEnd.getZ()));
+    // pastes a schematic with its start marker at start, rotated in steps of 90 degrees so the schematic follows the heading
+    private @NotNull List<Block> rotatedPaste(ParkourSchematic schematic, Block start) {
+        Vector startToEnd = schematic.getStartToEnd();
+
+        // diagonal headings are snapped to the axis they are closest to
+        int headingX = Math.abs(heading.getX()) >= Math.abs(heading.getZ()) ? (int) Math.signum(heading.getX()) : 0;
+        int headingZ = headingX == 0 ? (int) Math.signum(heading.getZ()) : 0;
+
+        // snapped direction of the schematic, supports no rotation if x == z
+        int snappedX = 0;
+        int snappedZ = 0;
+        if (!startToEnd.equals(heading)) {
+            if (Math.abs(startToEnd.getX()) > Math.abs(startToEnd.getZ())) {
+                snappedX = (int) Math.signum(startToEnd.getX());
+            } else {
+                snappedZ = (int) Math.signum(startToEnd.getZ());
+            }
         }
 
-        // the angle between heading and normalized direction of schematic, snapped to 90 deg angles
-        double snappedAngle = angleInY(heading, snapped);
+        // cos and sin of the angle between the heading and the direction of the schematic
+        int cos = snappedX == 0 && snappedZ == 0 ? 1 : headingX * snappedX + headingZ * snappedZ;
+        int sin = snappedX == 0 && snappedZ == 0 ? 0 : headingX * snappedZ - headingZ * snappedX;
 
-        Location rotatedStart = location.clone().subtract(start.clone().rotateAroundY(snappedAngle));
-        Vector rotatedStartToEnd = startToEnd.clone().rotateAroundY(snappedAngle);
+        ParkourSchematic.Rotation rotation = schematic.getRotation(cos, sin);
+        Vector rotatedStartToEnd = rotation.startToEnd();
 
-        history.add(location.clone().add(rotatedStartToEnd).subtract(0, 1, 0).getBlock());
-        return schematic.paste(rotatedStart, snappedAngle); // only yaw
-    }
+        addHistory(start.getRelative(rotatedStartToEnd.getBlockX(), rotatedStartToEnd.getBlockY() - 1, rotatedStartToEnd.getBlockZ()));
+
+        long[] offsets = rotation.offsets();
+        BlockData[] data = rotation.data();
 
-    private double angleInY(Vector a, Vector b) {
-        double det = a.getX() * b.getZ() - a.getZ() * b.getX();
-        return Math.atan2(det, a.dot(b));
+        List<Block> blocks = new ArrayList<>(offsets.length);
+        for (int i = 0; i < offsets.length; i++) {
+            Block block = start.getRelative(BlockHistory.unpackX(offsets[i]), BlockHistory.unpackY(offsets[i]), BlockHistory.unpackZ(offsets[i]));
+
+            setBlock(block, data[i], false);
+            blocks.add(block);
+        }
+
+        return blocks;
     }
 
-    protected Block getLatest() {
-        return history.get(history.size() - 1);
+    // adds a block to the history, clearing the block that no longer fits in it
+    private void addHistory(Block block) {
+        int oldest = history.getOldestIndex();
+        Block evicted = history.add(block);
+
+        // avoid setting beginning block to air
+        if (evicted != null && oldest > 0) {
+            removeBlock(evicted);
+        }
     }
 
-    private double getDifficulty(String fileName) {
-        String path = "difficulty.%s".formatted(fileName.split("[-.]")[1]);
+    // places a parkour block in the world, or only for the viewers when using client side blocks
+    private void setBlock(Block block, BlockData data, boolean physics) {
+        if (clientBlocks != null) {
+            clientBlocks.set(block, data);
+        } else {
+            IP.getBlockScheduler().set(block, data, physics, Priority.GENERATE);
+        }
+    }
 
-        if (!Config.SCHEMATICS.isPath(path))  {
-            return 1.0; // todo remove
+    // removes a parkour block from the world, or only for the viewers when using client side blocks
+    private void removeBlock(Block block) {
+        if (clientBlocks != null) {
+            clientBlocks.remove(block);
+        } else {
+            IP.getBlockScheduler().setAir(block, Priority.CLEANUP);
         }
+    }
 
-        return Config.SCHEMATICS.getDouble(path);
+    /**
+     * @param block The block.
+     * @return The material players see at this block, including blocks that are client side or have not been placed yet.
+     */
+    protected Material getType(Block block) {
+        return clientBlocks != null ? clientBlocks.getType(block) : IP.getBlockScheduler().getType(block);
+    }
+
+    protected Block getLatest() {
+        return history.getLatest();
     }
 
     /**
@@ -727,9 +1114,7 @@ public class ParkourGenerator {
      * @param amount The amount
      */
     public void generate(int amount) {
-        for (int i = 0; i < amount + 1; i++) {
-            generate();
-        }
+        generateBatch(amount + 1);
     }
 
     /**
@@ -742,7 +1127,7 @@ public class ParkourGenerator {
         playerSpawn = spawn;
         lastStandingPlayerLocation = spawn;
         blockSpawn = block;
-        history.add(blockSpawn.getBlock());
+        addHistory(blockSpawn.getBlock());
 
         generate(profile.get("blockLead").asInt());
     }
@@ -769,7 +1154,14 @@ public class ParkourGenerator {
      * @return The current duration of the run.
      */
     public String getTime() {
-        return Score.timeFromMillis(start != null ? (int) Duration.between(start, Instant.now()).toMillis() : 0);
+        return Score.timeFromMillis(getTimeMillis());
+    }
+
+    /**
+     * @return The current duration of the run in millis.
+     */
+    public int getTimeMillis() {
+        return start != null ? (int) Duration.between(start, Instant.now()).toMillis() : 0;
     }
 
     /**
@@ -798,4 +1190,17 @@ public class ParkourGenerator {
     public enum JumpType {
         DEFAULT, SCHEMATIC, SPECIAL
     }
+
+    /**
+     * The compiled chance maps.
+     *
+     * @param jumps    The jump type samplers, indexed by a combination of exclusion flags.
+     * @param height   The height sampler.
+     * @param distance The distance sampler.
+     * @param special  The special block sampler.
+     */
+    private record Samplers(List<AliasSampler<JumpType>> jumps, AliasSampler<Integer> height,
+                            AliasSampler<Integer> distance, AliasSampler<BlockData> special) {
+
+    }
 }
\ No newline at end of file
@@ -130,7 +130,7 @@ public class Leaderboard {
      */
     @NotNull
     public Score get(@NotNull UUID uuid) {
-        return scores.getOrDefault(uuid, new Score("?", "?", "?", 0));
+        return scores.getOrDefault(uuid, Score.UNKNOWN);
     }
 
     /**
@@ -150,10 +150,16 @@ public class Leaderboard {
      */
     @Nullable
     public Score getScoreAtRank(int rank) {
-        if (scores.size() < rank) {
+        if (rank < 1 || scores.size() < rank) {
             return null;
         }
 
-        return new ArrayList<>(scores.values()).get(rank - 1);
+        // avoid copying all scores
+        Iterator<Score> iterator = scores.values().iterator();
+        for (int i = 1; i < rank; i++) {
+            iterator.next();
+        }
+
+        return iterator.next();
     }
 }
\ No newline at end of file
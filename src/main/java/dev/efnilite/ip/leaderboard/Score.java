@@ -12,6 +12,11 @@ import dev.efnilite.vilib.util.Time;
  */
 public record Score(String name, String time, String difficulty, int score) {
 
+    /**
+     * The score shown when there is no score.
+     */
+    public static final Score UNKNOWN = new Score("?", "?", "?", 0);
+
     /**
      * Gets a {@link Score} instance from a string
      *
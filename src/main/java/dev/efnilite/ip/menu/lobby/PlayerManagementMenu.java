@@ -78,7 +78,7 @@ public class PlayerManagementMenu {
 
                 switch (click) {
                     case LEFT -> {
-                        Modes.DEFAULT.create(other.player);
+                        Modes.DEFAULT.join(other.player);
 
                         other.sendTranslated("lobby.player_management.kicked");
 
@@ -1,12 +1,12 @@
 package dev.efnilite.ip.mode;
 
+import dev.efnilite.ip.IP;
 import dev.efnilite.ip.config.Locales;
 import dev.efnilite.ip.config.Option;
 import dev.efnilite.ip.generator.ParkourGenerator;
 import dev.efnilite.ip.leaderboard.Leaderboard;
 import dev.efnilite.ip.menu.community.SingleLeaderboardMenu;
 import dev.efnilite.ip.player.ParkourPlayer;
-import dev.efnilite.ip.session.Session;
 import dev.efnilite.ip.util.Util;
 import dev.efnilite.vilib.inventory.item.Item;
 import org.bukkit.entity.Player;
@@ -40,17 +40,39 @@ public class DefaultMode implements Mode {
 
     @Override
     public void create(Player player) {
+        if (!canJoin(player)) {
+            return;
+        }
+
+        IP.getJoinPipeline().join(player, ParkourGenerator::new, null);
+    }
+
+    /**
+     * Joins a player right away, instead of loading their settings on another thread first.
+     * Used when the plugin moves a player, like when the session they are in is removed or when they are forced to join.
+     *
+     * @param player The player.
+     */
+    public void join(Player player) {
+        if (!canJoin(player)) {
+            return;
+        }
+
+        IP.getJoinPipeline().joinNow(player, ParkourGenerator::new);
+    }
+
+    private boolean canJoin(Player player) {
         if (!Option.JOINING) {
             Util.send(player, "<red><bold>Joining is currently disabled.");
-            return;
+            return false;
         }
 
         ParkourPlayer pp = ParkourPlayer.getPlayer(player);
         if (pp != null && pp.session.generator.getMode() instanceof DefaultMode) {
-            return;
+            return false;
         }
         player.closeInventory();
 
-        Session.create(ParkourGenerator::new, null, null, player);
+        return true;
     }
 }
@@ -0,0 +1,113 @@
+package dev.efnilite.ip.player;
+
+import dev.efnilite.vilib.util.Strings;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.GameMode;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>Remembers what has been sent to a player, to skip updates that would not change anything.</p>
+ * <p>Time, saturation and game mode are compared with the state of the player, so changes by other plugins are undone as before.
+ * The action bar can't be read back and fades on its own, so it is sent again when its text changes or every {@link #ACTION_BAR_INTERVAL} ms.</p>
+ * <p>Only use this on the main thread.</p>
+ */
+public final class ClientState {
+
+    /**
+     * The time in ms after which the same action bar is sent again, before it fades.
+     */
+    public static final int ACTION_BAR_INTERVAL = 1000;
+
+    private static long sent;
+    private static long skipped;
+
+    private final Player player;
+
+    private String actionBar;
+    private long actionBarSent;
+
+    public ClientState(@NotNull Player player) {
+        this.player = player;
+    }
+
+    /**
+     * Sets the time of the player, which doesn't follow the world time.
+     *
+     * @param time The time.
+     */
+    public void setTime(long time) {
+        if (!player.isPlayerTimeRelative() && player.getPlayerTimeOffset() == time) {
+            skipped++;
+            return;
+        }
+
+        player.setPlayerTime(time, false);
+        sent++;
+    }
+
+    /**
+     * Sets the saturation of the player.
+     *
+     * @param saturation The saturation.
+     */
+    public void setSaturation(float saturation) {
+        if (player.getSaturation() == saturation) {
+            skipped++;
+            return;
+        }
+
+        player.setSaturation(saturation);
+        sent++;
+    }
+
+    /**
+     * Sets the game mode of the player.
+     *
+     * @param mode The game mode.
+     */
+    public void setGameMode(@NotNull GameMode mode) {
+        if (player.getGameMode() == mode) {
+            skipped++;
+            return;
+        }
+
+        player.setGameMode(mode);
+        sent++;
+    }
+
+    /**
+     * Sends an action bar.
+     *
+     * @param message The uncoloured message.
+     */
+    public void sendActionBar(@NotNull String message) {
+        long now = System.currentTimeMillis();
+
+        if (message.equals(actionBar) && now - actionBarSent < ACTION_BAR_INTERVAL) {
+            skipped++;
+            return;
+        }
+
+        actionBar = message;
+        actionBarSent = now;
+
+        player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(Strings.colour(message)));
+        sent++;
+    }
+
+    /**
+     * @return The amount of updates that have been sent to players.
+     */
+    public static long getSent() {
+        return sent;
+    }
+
+    /**
+     * @return The amount of updates that have been skipped, since they would not have changed anything.
+     */
+    public static long getSkipped() {
+        return skipped;
+    }
+}
@@ -1,6 +1,7 @@
 package dev.efnilite.ip.player;
 
 import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.JsonAdapter;
 import dev.efnilite.ip.IP;
 import dev.efnilite.ip.config.Locales;
 import dev.efnilite.ip.config.Option;
@@ -10,7 +11,7 @@ import dev.efnilite.ip.menu.ParkourOption;
 import dev.efnilite.ip.mode.MultiMode;
 import dev.efnilite.ip.player.data.PreviousData;
 import dev.efnilite.ip.session.Session;
-import dev.efnilite.ip.world.WorldDivider;
+import dev.efnilite.ip.util.IntSet;
 import dev.efnilite.vilib.inventory.Menu;
 import dev.efnilite.vilib.inventory.item.Item;
 import dev.efnilite.vilib.util.Colls;
@@ -43,12 +44,14 @@ public class ParkourPlayer extends ParkourUser {
         PLAYER_COLUMNS.put("showScoreboard", new OptionContainer(ParkourOption.SCOREBOARD, (player, v) -> player.showScoreboard = parseBoolean(v)));
         PLAYER_COLUMNS.put("selectedTime", new OptionContainer(ParkourOption.TIME, (player, v) -> player.selectedTime = Integer.parseInt(v)));
         PLAYER_COLUMNS.put("collectedRewards", new OptionContainer(null, (player, v) -> {
-            player.collectedRewards = new ArrayList<>();
-
-            if (!v.isEmpty()) {
-                player.collectedRewards.addAll(Arrays.stream(v.replaceAll("[ \\[\\]]", "").split(","))
-                        .distinct()
-                        .toList());
+            player.collectedRewards = new IntSet();
+
+            for (String reward : v.replaceAll("[ \\[\\]]", "").split(",")) {
+                try {
+                    player.collectedRewards.add(Integer.parseInt(reward));
+                } catch (NumberFormatException ignored) {
+                    // empty or not a score
+                }
             }
         }));
         PLAYER_COLUMNS.put("locale", new OptionContainer(ParkourOption.LANG, (player, v) -> {
@@ -69,7 +72,7 @@ public class ParkourPlayer extends ParkourUser {
     public @Expose Integer selectedTime;
     public @Expose String style;
     public @Expose String _locale;
-    public @Expose List<String> collectedRewards;
+    public @Expose @JsonAdapter(IntSet.Adapter.class) IntSet collectedRewards;
     /**
      * Creates a new instance of a ParkourPlayer<br>
      * If you are using the API, please use {@link ParkourPlayer#register(Player, Session)} instead
@@ -104,18 +107,16 @@ public class ParkourPlayer extends ParkourUser {
      * @return player as a {@link ParkourPlayer}, null if not found.
      */
     public static @Nullable ParkourPlayer getPlayer(@NotNull Player player) {
-        return getPlayers().stream()
-                .filter(other -> other.getUUID() == player.getUniqueId())
-                .findAny()
-                .orElse(null);
+        return Session.getUser(player.getUniqueId()) instanceof ParkourPlayer pp ? pp : null;
     }
 
     /**
      * @return List with all players.
      */
     public static List<ParkourPlayer> getPlayers() {
-        return WorldDivider.sessions.values().stream()
-                .flatMap(session -> session.getPlayers().stream())
+        return Session.getAllUsers().stream()
+                .filter(user -> user instanceof ParkourPlayer)
+                .map(user -> (ParkourPlayer) user)
                 .toList();
     }
 
@@ -6,10 +6,7 @@ import dev.efnilite.ip.config.Locales;
 import dev.efnilite.ip.player.data.PreviousData;
 import dev.efnilite.ip.session.Session;
 import dev.efnilite.ip.util.Util;
-import dev.efnilite.vilib.util.Strings;
 import dev.efnilite.vilib.util.Task;
-import net.md_5.bungee.api.ChatMessageType;
-import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
@@ -73,12 +70,11 @@ public class ParkourSpectator extends ParkourUser {
     }
 
     /**
-     * Updates the spectator's action bar, scoreboard and checks distance.
+     * Updates the spectator's action bar and checks distance.
      */
     public void update() {
-        player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(Strings.colour(Locales.getString(player, "play.spectator.action_bar"))));
-        player.setGameMode(GameMode.SPECTATOR);
-        updateScoreboard(session.generator);
+        clientState.sendActionBar(Locales.getString(locale, "play.spectator.action_bar"));
+        clientState.setGameMode(GameMode.SPECTATOR);
 
         if (closest.getLocation().distanceSquared(player.getLocation()) < 100 * 100) { // avoid sqrt
             return;
@@ -9,18 +9,13 @@ import dev.efnilite.ip.config.Config;
 import dev.efnilite.ip.config.Locales;
 import dev.efnilite.ip.config.Option;
 import dev.efnilite.ip.generator.ParkourGenerator;
-import dev.efnilite.ip.leaderboard.Leaderboard;
-import dev.efnilite.ip.leaderboard.Score;
 import dev.efnilite.ip.menu.ParkourOption;
 import dev.efnilite.ip.mode.Mode;
 import dev.efnilite.ip.player.data.PreviousData;
 import dev.efnilite.ip.session.Session;
 import dev.efnilite.ip.session.SessionChat;
 import dev.efnilite.ip.util.Util;
-import dev.efnilite.ip.world.WorldDivider;
 import dev.efnilite.vilib.fastboard.FastBoard;
-import dev.efnilite.vilib.util.Strings;
-import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerTeleportEvent;
@@ -30,6 +25,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -48,6 +44,18 @@ public abstract class ParkourUser {
      * @return the ParkourPlayer instance of the newly joined player
      */
     public static @NotNull ParkourPlayer register(@NotNull Player player, @NotNull Session session) {
+        return register(player, session, null);
+    }
+
+    /**
+     * Registers a player. This registers the player internally.
+     * This automatically unregisters the player if it is already registered.
+     *
+     * @param player   The player
+     * @param settings The settings of the player, as read by {@link dev.efnilite.ip.storage.Storage#readSettings(UUID)}, or null to read them now.
+     * @return the ParkourPlayer instance of the newly joined player
+     */
+    public static @NotNull ParkourPlayer register(@NotNull Player player, @NotNull Session session, @Nullable Map<String, Object> settings) {
         PreviousData data = null;
         ParkourUser existing = getUser(player);
 
@@ -62,7 +70,11 @@ public abstract class ParkourUser {
         joinCount++;
         new ParkourJoinEvent(pp).call();
 
-        IP.getStorage().readPlayer(pp);
+        if (settings != null) {
+            pp.setSettings(settings);
+        } else {
+            IP.getStorage().readPlayer(pp);
+        }
         return pp;
     }
 
@@ -145,7 +157,7 @@ public abstract class ParkourUser {
      * @return True when this player is a {@link ParkourUser}, false if not.
      */
     public static boolean isUser(@Nullable Player player) {
-        return player != null && getUsers().stream().anyMatch(other -> other.player == player);
+        return player != null && Session.getUser(player.getUniqueId()) != null;
     }
 
     /**
@@ -153,19 +165,14 @@ public abstract class ParkourUser {
      * @return player as a {@link ParkourUser}, null if not found.
      */
     public static @Nullable ParkourUser getUser(@NotNull Player player) {
-        return getUsers().stream()
-                .filter(other -> other.getUUID() == player.getUniqueId())
-                .findAny()
-                .orElse(null);
+        return Session.getUser(player.getUniqueId());
     }
 
     /**
      * @return List with all users.
      */
     public static List<ParkourUser> getUsers() {
-        return WorldDivider.sessions.values().stream()
-                .flatMap(session -> session.getUsers().stream())
-                .toList();
+        return List.copyOf(Session.getAllUsers());
     }
 
     /**
@@ -179,6 +186,14 @@ public abstract class ParkourUser {
      */
     public FastBoard board;
 
+    /**
+     * What has been sent to this user, to skip updates that would not change anything.
+     */
+    public final ClientState clientState;
+
+    // renders the scoreboard, sending only what changed
+    private final ScoreboardRenderer scoreboard = new ScoreboardRenderer(this);
+
     /**
      * This user's PreviousData
      */
@@ -214,6 +229,7 @@ public abstract class ParkourUser {
         this.player = player;
         this.session = session;
         this.joined = Instant.now();
+        this.clientState = new ClientState(player);
         this.previousData = previousData == null ? new PreviousData(player) : previousData;
 
         if (Boolean.parseBoolean(Option.OPTIONS_DEFAULTS.get(ParkourOption.SCOREBOARD))) {
@@ -265,38 +281,7 @@ public abstract class ParkourUser {
             return;
         }
 
-        Leaderboard leaderboard = generator.getMode().getLeaderboard();
-        Score top = leaderboard == null ? new Score("?", "?", "?", 0) : leaderboard.getScoreAtRank(1);
-        Score high = leaderboard == null ? new Score("?", "?", "?", 0) : leaderboard.get(getUUID());
-        if (top == null) {
-            top = new Score("?", "?", "?", 0);
-        }
-
-        board.updateTitle(replace(Locales.getString(locale, "scoreboard.title"), top, high, generator));
-        board.updateLines(replace(Locales.getStringList(locale, "scoreboard.lines"), top, high, generator));
-    }
-
-    private List<String> replace(List<String> s, Score top, Score high, ParkourGenerator generator) {
-        return s.stream().map(line -> replace(line, top, high, generator)).toList();
-    }
-
-    private String replace(String s, Score top, Score high, ParkourGenerator generator) {
-        return Strings.colour(translate(player, s)
-                .replace("%score%", Integer.toString(generator.score))
-                .replace("%time%", generator.getTime())
-                .replace("%difficulty%", Double.toString(generator.getDifficultyScore()))
-
-                .replace("%top_score%", Integer.toString(top.score()))
-                .replace("%top_player%", top.name())
-                .replace("%top_time%", top.time())
-
-                .replace("%high_score%", Integer.toString(high.score()))
-                .replace("%high_score_time%", high.time()));
-    }
-
-    // translate papi
-    private String translate(Player player, String string) {
-        return IP.getPlaceholderHook() == null ? string : PlaceholderAPI.setPlaceholders(player, string);
+        scoreboard.render(board, generator);
     }
 
     /**
@@ -0,0 +1,162 @@
+package dev.efnilite.ip.player;
+
+import dev.efnilite.ip.IP;
+import dev.efnilite.ip.generator.ParkourGenerator;
+import dev.efnilite.ip.leaderboard.Leaderboard;
+import dev.efnilite.ip.leaderboard.Score;
+import dev.efnilite.ip.player.ScoreboardTemplate.Line;
+import dev.efnilite.ip.player.ScoreboardTemplate.Variable;
+import dev.efnilite.vilib.fastboard.FastBoard;
+import dev.efnilite.vilib.util.Strings;
+import me.clip.placeholderapi.PlaceholderAPI;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * <p>Renders the scoreboard of a user.</p>
+ * <p>Variables are only formatted again when their input changed, lines are only rendered again when one of their variables changed,
+ * and only lines that look different are sent to the player.</p>
+ */
+final class ScoreboardRenderer {
+
+    private final ParkourUser user;
+
+    private FastBoard board;
+    private ScoreboardTemplate template;
+
+    // the inputs and rendered values of the variables
+    private final String[] values = new String[Variable.values().length];
+    private int score = -1;
+    private int timeMillis = -1;
+    private double difficulty = -1;
+    private Score top;
+    private Score high;
+
+    // the lines as last sent to the player
+    private String title;
+    private String[] lines = new String[0];
+
+    ScoreboardRenderer(@NotNull ParkourUser user) {
+        this.user = user;
+    }
+
+    /**
+     * Renders the scoreboard and sends the changes to the board.
+     *
+     * @param board     The board.
+     * @param generator The generator of which the values are shown.
+     */
+    void render(@NotNull FastBoard board, @NotNull ParkourGenerator generator) {
+        ScoreboardTemplate template = ScoreboardTemplate.get(user.locale);
+
+        int changed = updateValues(generator);
+
+        // everything is sent again when the board, the locale or the locale files changed
+        if (board != this.board || template != this.template) {
+            this.board = board;
+            this.template = template;
+            changed = -1;
+            title = null;
+            lines = new String[0];
+        }
+
+        if (changed != 0 || template.title.placeholders()) {
+            String title = render(template.title, changed, this.title);
+
+            if (!title.equals(this.title)) {
+                this.title = title;
+                board.updateTitle(title);
+            }
+        }
+
+        List<Line> templateLines = template.lines;
+        if (lines.length != templateLines.size()) {
+            lines = new String[templateLines.size()];
+
+            for (int i = 0; i < lines.length; i++) {
+                lines[i] = render(templateLines.get(i), -1, null);
+            }
+
+            board.updateLines(lines);
+            return;
+        }
+
+        for (int i = 0; i < lines.length; i++) {
+            String line = render(templateLines.get(i), changed, lines[i]);
+
+            if (!line.equals(lines[i])) {
+                lines[i] = line;
+                board.updateLine(i, line);
+            }
+        }
+    }
+
+    // renders a line if one of its variables changed or it contains other placeholders, otherwise returns the previous line
+    private String render(Line line, int changed, String previous) {
+        if (previous != null && (line.variables() & changed) == 0 && !line.placeholders()) {
+            return previous;
+        }
+
+        String rendered = line.render(values);
+
+        if (line.placeholders() && IP.getPlaceholderHook() != null) {
+            rendered = PlaceholderAPI.setPlaceholders(user.player, rendered);
+        }
+
+        return Strings.colour(rendered);
+    }
+
+    // formats the variables of which the input changed, returning the bits of the changed variables
+    private int updateValues(ParkourGenerator generator) {
+        int changed = 0;
+
+        if (generator.score != score) {
+            score = generator.score;
+            changed |= set(Variable.SCORE, Integer.toString(score));
+        }
+
+        int timeMillis = generator.getTimeMillis();
+        if (timeMillis != this.timeMillis) {
+            this.timeMillis = timeMillis;
+            changed |= set(Variable.TIME, Score.timeFromMillis(timeMillis));
+        }
+
+        double difficulty = generator.getDifficultyScore();
+        if (difficulty != this.difficulty) {
+            this.difficulty = difficulty;
+            changed |= set(Variable.DIFFICULTY, Double.toString(difficulty));
+        }
+
+        Leaderboard leaderboard = generator.getMode().getLeaderboard();
+        Score top = leaderboard == null ? Score.UNKNOWN : leaderboard.getScoreAtRank(1);
+        Score high = leaderboard == null ? Score.UNKNOWN : leaderboard.get(user.getUUID());
+        if (top == null) {
+            top = Score.UNKNOWN;
+        }
+
+        if (!top.equals(this.top)) {
+            this.top = top;
+            changed |= set(Variable.TOP_SCORE, Integer.toString(top.score()));
+            changed |= set(Variable.TOP_PLAYER, top.name());
+            changed |= set(Variable.TOP_TIME, top.time());
+        }
+
+        if (!high.equals(this.high)) {
+            this.high = high;
+            changed |= set(Variable.HIGH_SCORE, Integer.toString(high.score()));
+            changed |= set(Variable.HIGH_SCORE_TIME, high.time());
+        }
+
+        return changed;
+    }
+
+    private int set(Variable variable, String value) {
+        if (value.equals(values[variable.ordinal()])) {
+            return 0;
+        }
+
+        values[variable.ordinal()] = value;
+        return variable.bit();
+    }
+}
@@ -0,0 +1,142 @@
+package dev.efnilite.ip.player;
+
+import dev.efnilite.ip.config.Locales;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * <p>The scoreboard of a locale, compiled into literal text and variables.</p>
+ * <p>Templates are compiled once per locale file, so rendering a line only joins its parts.
+ * Lines that contain other placeholders are marked, since PlaceholderAPI has to run over them every time.</p>
+ */
+final class ScoreboardTemplate {
+
+    // placeholders which are not variables, like PlaceholderAPI placeholders
+    private static final Pattern PLACEHOLDER = Pattern.compile("%[^%\\s]+%");
+
+    private static final Map<String, ScoreboardTemplate> TEMPLATES = new HashMap<>();
+
+    // the locale file this template was compiled from
+    private final FileConfiguration config;
+
+    final Line title;
+    final List<Line> lines;
+
+    private ScoreboardTemplate(@Nullable FileConfiguration config, String title, List<String> lines) {
+        this.config = config;
+        this.title = Line.compile(title);
+        this.lines = lines.stream().map(Line::compile).toList();
+    }
+
+    /**
+     * Only use this on the main thread.
+     *
+     * @param locale The locale.
+     * @return The compiled scoreboard of locale. Compiled again when the locale files have been reloaded.
+     */
+    @NotNull
+    static ScoreboardTemplate get(@NotNull String locale) {
+        FileConfiguration config = Locales.locales.get(locale);
+        ScoreboardTemplate template = TEMPLATES.get(locale);
+
+        if (template == null || template.config != config) {
+            template = new ScoreboardTemplate(config, Locales.getString(locale, "scoreboard.title"), Locales.getStringList(locale, "scoreboard.lines"));
+            TEMPLATES.put(locale, template);
+        }
+
+        return template;
+    }
+
+    /**
+     * The variables that can be used in the scoreboard.
+     */
+    enum Variable {
+        SCORE("%score%"),
+        TIME("%time%"),
+        DIFFICULTY("%difficulty%"),
+        TOP_SCORE("%top_score%"),
+        TOP_PLAYER("%top_player%"),
+        TOP_TIME("%top_time%"),
+        HIGH_SCORE("%high_score%"),
+        HIGH_SCORE_TIME("%high_score_time%");
+
+        final String key;
+
+        Variable(String key) {
+            this.key = key;
+        }
+
+        int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    /**
+     * A compiled line.
+     *
+     * @param source       The line as written in the locale file.
+     * @param parts        The literal text parts, as String, and the variables, as {@link Variable}, in order.
+     * @param variables    The bits of the variables in this line.
+     * @param placeholders Whether this line contains placeholders that are not variables.
+     */
+    record Line(String source, Object[] parts, int variables, boolean placeholders) {
+
+        static Line compile(String source) {
+            List<Object> parts = new ArrayList<>();
+            int variables = 0;
+
+            StringBuilder literal = new StringBuilder();
+            int i = 0;
+            outer:
+            while (i < source.length()) {
+                if (source.charAt(i) == '%') {
+                    for (Variable variable : Variable.values()) {
+                        if (source.startsWith(variable.key, i)) {
+                            if (!literal.isEmpty()) {
+                                parts.add(literal.toString());
+                                literal.setLength(0);
+                            }
+
+                            parts.add(variable);
+                            variables |= variable.bit();
+                            i += variable.key.length();
+                            continue outer;
+                        }
+                    }
+                }
+
+                literal.append(source.charAt(i));
+                i++;
+            }
+
+            if (!literal.isEmpty()) {
+                parts.add(literal.toString());
+            }
+
+            boolean placeholders = parts.stream().anyMatch(part -> part instanceof String string && PLACEHOLDER.matcher(string).find());
+
+            return new Line(source, parts.toArray(), variables, placeholders);
+        }
+
+        /**
+         * @param values The rendered values of the variables, by ordinal.
+         * @return The line with the variables replaced.
+         */
+        String render(String[] values) {
+            StringBuilder builder = new StringBuilder();
+
+            for (Object part : parts) {
+                builder.append(part instanceof Variable variable ? values[variable.ordinal()] : (String) part);
+            }
+
+            return builder.toString();
+        }
+    }
+}
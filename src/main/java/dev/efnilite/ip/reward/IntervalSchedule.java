@@ -0,0 +1,73 @@
+package dev.efnilite.ip.reward;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>Keeps the next multiple of every reward interval after a score, ordered by that multiple.</p>
+ * <p>When the score increases, only the intervals with a multiple up to the new score are visited,
+ * instead of every interval on every point.</p>
+ */
+public final class IntervalSchedule {
+
+    private final Map<Integer, ?> intervals;
+
+    // pairs of the next multiple and the interval, smallest multiple first
+    private final PriorityQueue<int[]> due = new PriorityQueue<>(Comparator.comparingInt(next -> next[0]));
+
+    private int score;
+
+    /**
+     * Creates a schedule.
+     *
+     * @param intervals The map with the intervals as keys. Every interval should be at least 1.
+     * @param score     The score to start after.
+     */
+    public IntervalSchedule(@NotNull Map<Integer, ?> intervals, int score) {
+        this.intervals = intervals;
+        this.score = score;
+
+        for (int interval : intervals.keySet()) {
+            due.add(new int[]{(Math.floorDiv(score, interval) + 1) * interval, interval});
+        }
+    }
+
+    /**
+     * Increases the score, and accepts every interval once for every multiple of it that was passed.
+     * Multiples are visited from small to large.
+     *
+     * @param score  The new score. Should not be smaller than the current score.
+     * @param action What to do with an interval of which a multiple was passed.
+     */
+    public void advance(int score, @NotNull IntConsumer action) {
+        this.score = score;
+
+        while (!due.isEmpty() && due.peek()[0] <= score) {
+            int[] next = due.poll();
+
+            action.accept(next[1]);
+
+            next[0] += next[1];
+            due.add(next);
+        }
+    }
+
+    /**
+     * @param intervals The map with the intervals.
+     * @return True when this schedule was made for this map, false if not.
+     */
+    public boolean uses(@NotNull Map<Integer, ?> intervals) {
+        return this.intervals == intervals;
+    }
+
+    /**
+     * @return The score the schedule is at.
+     */
+    public int getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,150 @@
+package dev.efnilite.ip.reward;
+
+import dev.efnilite.ip.IP;
+import dev.efnilite.ip.config.Option;
+import dev.efnilite.ip.hook.VaultHook;
+import dev.efnilite.vilib.util.Task;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Executes reward commands and Vault deposits outside of scoring, so generation doesn't wait for other plugins.</p>
+ * <p>Every tick, all Vault deposits are made, with one deposit per player.
+ * Commands are then dispatched in order until {@link Option#REWARD_DISPATCH_TIME} milliseconds have passed.
+ * At least one command is dispatched every tick.</p>
+ * <p>Only use this on the main thread.</p>
+ */
+public final class RewardDispatcher {
+
+    private final ArrayDeque<String> commands = new ArrayDeque<>();
+    private final Map<Player, Double> deposits = new LinkedHashMap<>();
+
+    private BukkitTask task;
+
+    // metrics of the previous tick
+    private int lastTickCommands;
+    private long lastTickNanos;
+    private long totalCommands;
+
+    /**
+     * Starts dispatching every tick.
+     */
+    public void start() {
+        task = Task.create(IP.getPlugin())
+                .repeat(1)
+                .execute(this::tick)
+                .run();
+    }
+
+    /**
+     * Stops dispatching every tick and dispatches everything that is still waiting.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+        }
+
+        flush();
+    }
+
+    /**
+     * Schedules a command, which is dispatched by the console.
+     *
+     * @param command The command.
+     */
+    public void dispatch(@NotNull String command) {
+        commands.add(command);
+    }
+
+    /**
+     * Schedules a Vault deposit. Deposits to the same player in the same tick are combined.
+     *
+     * @param player The player.
+     * @param amount The amount.
+     */
+    public void deposit(@NotNull Player player, double amount) {
+        deposits.merge(player, amount, Double::sum);
+    }
+
+    /**
+     * Dispatches all commands and makes all deposits, ignoring the time budget.
+     */
+    public void flush() {
+        deposit();
+
+        while (!commands.isEmpty()) {
+            execute(commands.poll());
+        }
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        long budget = Option.REWARD_DISPATCH_TIME * 1_000_000L;
+        long dispatched = totalCommands;
+
+        deposit();
+
+        while (!commands.isEmpty() && (totalCommands == dispatched || System.nanoTime() - start < budget)) {
+            execute(commands.poll());
+        }
+
+        lastTickCommands = (int) (totalCommands - dispatched);
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    private void deposit() {
+        if (deposits.isEmpty()) {
+            return;
+        }
+
+        // copy, since deposits may cause new rewards
+        Map<Player, Double> copy = new LinkedHashMap<>(deposits);
+        deposits.clear();
+
+        copy.forEach(VaultHook::deposit);
+    }
+
+    private void execute(String command) {
+        try {
+            Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
+        } catch (Exception ex) {
+            IP.logging().stack("Error while trying to execute reward command %s".formatted(command), ex);
+        }
+
+        totalCommands++;
+    }
+
+    /**
+     * @return The amount of commands that are waiting to be dispatched.
+     */
+    public int getBacklog() {
+        return commands.size();
+    }
+
+    /**
+     * @return The amount of commands dispatched in the previous tick.
+     */
+    public int getLastTickCommands() {
+        return lastTickCommands;
+    }
+
+    /**
+     * @return The time spent dispatching in the previous tick, in nanoseconds.
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * @return The amount of commands dispatched since this dispatcher was created.
+     */
+    public long getTotalCommands() {
+        return totalCommands;
+    }
+}
@@ -2,70 +2,170 @@ package dev.efnilite.ip.reward;
 
 import dev.efnilite.ip.IP;
 import dev.efnilite.ip.api.Registry;
-import dev.efnilite.ip.hook.VaultHook;
 import dev.efnilite.ip.mode.Mode;
-import dev.efnilite.ip.mode.Modes;
 import dev.efnilite.ip.player.ParkourPlayer;
-import org.bukkit.Bukkit;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 /**
  * A class for handling reward commands, etc.
+ * The reward is parsed once when it is created, so executing it only performs the action.
  */
 // todo add cross-server support
 // todo mode-specific way of saving one-time-rewards
-public record RewardString(@NotNull String string) {
+public final class RewardString {
+
+    // mode names only contain letters, digits, underscores and dashes
+    private static final Pattern MODE_NAME = Pattern.compile("[\\w-]+");
+
+    private final String string;
+
+    // the text before the first colon, if it may be a mode, like 'default' in 'default:say hi' or 'minecraft' in 'minecraft:give'
+    private final @Nullable String prefix;
+
+    // the action when the prefix is a mode, and when it isn't
+    private final @Nullable Action prefixed;
+    private final Action whole;
+
+    // the action after the prefix has been resolved against the registered modes
+    private Action action;
 
     /**
-     * Parses and executes this reward
+     * Parses a reward.
      *
-     * @param player The player to which to give this reward to
+     * @param string The reward, as written in the rewards file.
      */
-    public void execute(@NotNull ParkourPlayer player, @NotNull Mode mode) {
-        if (string.isEmpty()) {
-            return;
+    public RewardString(@NotNull String string) {
+        this.string = string;
+
+        String prefix = null;
+        Action prefixed = null;
+
+        // check for mode. rewards are read before the modes are registered, so whether the prefix is a mode is checked on execution
+        int colon = string.indexOf(':');
+        if (colon > 0) {
+            String candidate = string.substring(0, colon).toLowerCase(Locale.ROOT);
+
+            if (MODE_NAME.matcher(candidate).matches() && !candidate.equals("leave") && !candidate.equals("send") && !candidate.equals("vault")) {
+                prefix = candidate;
+                prefixed = Action.parse(candidate, string.substring(colon + 1));
+            }
         }
 
-        String string = this.string;
+        this.prefix = prefix;
+        this.prefixed = prefixed;
+        this.whole = Action.parse("default", string);
+    }
 
-        Mode rewardMode = Registry.getModes().stream()
-                .filter(m -> this.string.contains("%s:".formatted(m.getName().toLowerCase())))
-                .findFirst()
-                .orElse(Modes.DEFAULT);
+    /**
+     * Executes this reward
+     *
+     * @param player The player to which to give this reward to
+     * @param mode   The mode the player is playing.
+     */
+    public void execute(@NotNull ParkourPlayer player, @NotNull Mode mode) {
+        if (action == null) {
+            action = resolve(Registry.getModes().stream().map(Mode::getName).toList());
+        }
 
-        if (mode != rewardMode) {
+        if (action.type() == Type.NONE || !action.mode().equalsIgnoreCase(mode.getName())) {
             return;
         }
 
-        string = string.replaceFirst("%s:".formatted(rewardMode.getName().toLowerCase()), "");
+        String value = action.hasPlayer() ? action.value().replace("%player%", player.getName()) : action.value();
 
-        // check for placeholders
-        if (string.toLowerCase().contains("%player%")) {
-            string = string.replaceAll("%player%", player.getName());
+        switch (action.type()) {
+            case LEAVE -> player.previousData.onLeave.add(action.leave());
+            case SEND -> player.send(value);
+            case VAULT -> IP.getRewardDispatcher().deposit(player.player, action.amount());
+            case COMMAND -> IP.getRewardDispatcher().dispatch(value);
         }
+    }
 
-        // check for extra data
-        if (string.toLowerCase().contains("leave:")) { // leave:
-            string = string.replaceFirst("leave:", "");
-            player.previousData.onLeave.add(new RewardString(string));
-            return;
+    /**
+     * Resolves the prefix of this reward against mode names.
+     * When the prefix isn't one of the modes, like in 'minecraft:give %player% diamond 1',
+     * the whole reward is a reward of the default mode.
+     *
+     * @param modes The names of the modes.
+     * @return The action of this reward.
+     */
+    @NotNull
+    public Action resolve(@NotNull Collection<String> modes) {
+        if (prefix != null && modes.stream().anyMatch(prefix::equalsIgnoreCase)) {
+            return prefixed;
         }
 
-        // check for things to perform
-        if (string.toLowerCase().contains("send:")) {
-            string = string.replaceFirst("send:", "");
+        return whole;
+    }
 
-            player.send(string);
-        } else if (string.toLowerCase().contains("vault:")) {
-            string = string.replaceFirst("vault:", "");
+    /**
+     * @return The reward, as written in the rewards file.
+     */
+    @NotNull
+    public String string() {
+        return string;
+    }
 
-            try {
-                VaultHook.deposit(player.player, Double.parseDouble(string));
-            } catch (NumberFormatException ex) {
-                IP.logging().stack("Error while trying to process Vault reward", "check your rewards file for incorrect numbers", ex);
+    @Override
+    public String toString() {
+        return string;
+    }
+
+    /**
+     * What a reward does.
+     *
+     * @param mode      The name of the mode in which this action is performed.
+     * @param type      The type.
+     * @param value     The message or command, with %player% still in it.
+     * @param hasPlayer Whether value contains %player%.
+     * @param amount    The Vault amount.
+     * @param leave     The reward to execute on leave.
+     */
+    public record Action(@NotNull String mode, @NotNull Type type, @NotNull String value, boolean hasPlayer,
+                         double amount, @Nullable RewardString leave) {
+
+        private static Action parse(String mode, String value) {
+            String lower = value.toLowerCase(Locale.ROOT);
+            RewardString leave = null;
+            double amount = 0;
+            Type type;
+
+            // check for extra data and things to perform
+            if (value.isEmpty()) {
+                type = Type.NONE;
+            } else if (lower.startsWith("leave:")) {
+                type = Type.LEAVE;
+                leave = new RewardString(value.substring("leave:".length()));
+            } else if (lower.startsWith("send:")) {
+                type = Type.SEND;
+                value = value.substring("send:".length());
+            } else if (lower.startsWith("vault:")) {
+                value = value.substring("vault:".length());
+
+                try {
+                    amount = Double.parseDouble(value);
+                    type = Type.VAULT;
+                } catch (NumberFormatException ex) {
+                    IP.logging().stack("Error while trying to process Vault reward", "check your rewards file for incorrect numbers", ex);
+                    type = Type.NONE;
+                }
+            } else {
+                type = Type.COMMAND;
             }
-        } else {
-            Bukkit.dispatchCommand(Bukkit.getConsoleSender(), string);
+
+            return new Action(mode, type, value, value.contains("%player%"), amount, leave);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The types of rewards.
+     */
+    public enum Type {
+        NONE, LEAVE, SEND, VAULT, COMMAND
+    }
+}
@@ -3,9 +3,9 @@ package dev.efnilite.ip.reward;
 import dev.efnilite.ip.IP;
 import dev.efnilite.ip.config.Config;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 /**
  * Class that reads the rewards-v2.yml file and puts them in the variables listed below.
@@ -18,19 +18,19 @@ public class Rewards {
      * A map with all Score-type score rewards.
      * The key is the score, and the value are the commands that will be executed once this score is reached.
      */
-    public static Map<Integer, List<RewardString>> SCORE_REWARDS = new HashMap<>();
+    public static NavigableMap<Integer, List<RewardString>> SCORE_REWARDS = new TreeMap<>();
 
     /**
      * A map with all Interval-type score rewards.
      * The key is the score, and the value are the commands that will be executed once this score is reached.
      */
-    public static Map<Integer, List<RewardString>> INTERVAL_REWARDS = new HashMap<>();
+    public static NavigableMap<Integer, List<RewardString>> INTERVAL_REWARDS = new TreeMap<>();
 
     /**
      * A map with all One time-type score rewards.
      * The key is the score, and the value are the commands that will be executed once this score is reached.
      */
-    public static Map<Integer, List<RewardString>> ONE_TIME_REWARDS = new HashMap<>();
+    public static NavigableMap<Integer, List<RewardString>> ONE_TIME_REWARDS = new TreeMap<>();
 
     /**
      * Reads the rewards from the rewards-v2.yml file
@@ -48,8 +48,8 @@ public class Rewards {
         ONE_TIME_REWARDS = parseScores("one-time-rewards");
     }
 
-    private static Map<Integer, List<RewardString>> parseScores(String path) {
-        Map<Integer, List<RewardString>> rewardMap = new HashMap<>();
+    private static NavigableMap<Integer, List<RewardString>> parseScores(String path) {
+        NavigableMap<Integer, List<RewardString>> rewardMap = new TreeMap<>();
 
         for (String score : Config.REWARDS.getChildren(path)) {
 
@@ -0,0 +1,196 @@
+package dev.efnilite.ip.schematic;
+
+import dev.efnilite.ip.generator.BlockHistory;
+import dev.efnilite.vilib.schematic.Schematic;
+import org.bukkit.Axis;
+import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Directional;
+import org.bukkit.block.data.Orientable;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * <p>A parkour schematic, analysed when it is loaded.</p>
+ * <p>The start (lime wool) and end (red wool) markers are found once,
+ * and the blocks are rotated in advance for all four headings, so pasting only copies blocks.</p>
+ */
+public final class ParkourSchematic {
+
+    private static final BlockFace[] HORIZONTAL_FACES = {BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST};
+
+    /**
+     * The schematic.
+     */
+    public final Schematic schematic;
+
+    /**
+     * The offset from the start marker to the end marker, without rotation.
+     */
+    private final Vector startToEnd;
+    private final Rotation[] rotations = new Rotation[4];
+
+    private ParkourSchematic(Schematic schematic, Vector start, Vector end) {
+        this.schematic = schematic;
+        this.startToEnd = end.clone().subtract(start);
+
+        Map<Vector, BlockData> blocks = schematic.getVectorBlockMap();
+
+        for (int rotation = 0; rotation < 4; rotation++) {
+            int cos = cos(rotation);
+            int sin = sin(rotation);
+
+            long[] offsets = new long[blocks.size()];
+            BlockData[] data = new BlockData[blocks.size()];
+
+            int i = 0;
+            for (Map.Entry<Vector, BlockData> entry : blocks.entrySet()) {
+                int x = (int) Math.round(entry.getKey().getX() - start.getX());
+                int y = (int) Math.round(entry.getKey().getY() - start.getY());
+                int z = (int) Math.round(entry.getKey().getZ() - start.getZ());
+
+                offsets[i] = BlockHistory.pack(cos * x + sin * z, y, -sin * x + cos * z);
+                data[i] = rotate(entry.getValue(), cos, sin);
+                i++;
+            }
+
+            int x = startToEnd.getBlockX();
+            int z = startToEnd.getBlockZ();
+
+            rotations[rotation] = new Rotation(offsets, data, new Vector(cos * x + sin * z, startToEnd.getBlockY(), -sin * x + cos * z));
+        }
+    }
+
+    /**
+     * Analyses a schematic.
+     *
+     * @param schematic The schematic.
+     * @return The analysed schematic. Null if the start or end marker is missing.
+     */
+    @Nullable
+    public static ParkourSchematic of(@NotNull Schematic schematic) {
+        Vector start = null;
+        Vector end = null;
+
+        for (Map.Entry<Vector, BlockData> entry : schematic.getVectorBlockMap().entrySet()) {
+            Material material = entry.getValue().getMaterial();
+
+            if (material == Material.LIME_WOOL) {
+                start = entry.getKey();
+            } else if (material == Material.RED_WOOL) {
+                end = entry.getKey();
+            }
+        }
+
+        if (start == null || end == null) {
+            return null;
+        }
+
+        return new ParkourSchematic(schematic, start, end);
+    }
+
+    /**
+     * @return The offset from the start marker to the end marker, without rotation.
+     */
+    @NotNull
+    public Vector getStartToEnd() {
+        return startToEnd.clone();
+    }
+
+    /**
+     * Returns the blocks rotated around the y-axis, like {@link Vector#rotateAroundY(double)}.
+     *
+     * @param cos The cosine of the angle, which is -1, 0 or 1.
+     * @param sin The sine of the angle, which is -1, 0 or 1.
+     * @return The rotated blocks.
+     */
+    @NotNull
+    public Rotation getRotation(int cos, int sin) {
+        if (cos == 1) {
+            return rotations[0];
+        } else if (sin == 1) {
+            return rotations[1];
+        } else if (cos == -1) {
+            return rotations[2];
+        } else {
+            return rotations[3];
+        }
+    }
+
+    private static int cos(int rotation) {
+        return switch (rotation) {
+            case 0 -> 1;
+            case 2 -> -1;
+            default -> 0;
+        };
+    }
+
+    private static int sin(int rotation) {
+        return switch (rotation) {
+            case 1 -> 1;
+            case 3 -> -1;
+            default -> 0;
+        };
+    }
+
+    // rotates the facing or axis of a block
+    private static BlockData rotate(BlockData data, int cos, int sin) {
+        if (cos == 1) {
+            return data;
+        }
+
+        if (data instanceof Directional directional) {
+            BlockFace face = directional.getFacing();
+            int x = face.getModX();
+            int z = face.getModZ();
+
+            if (face.getModY() != 0 || Math.abs(x) + Math.abs(z) != 1) {
+                return data;
+            }
+
+            int rotatedX = cos * x + sin * z;
+            int rotatedZ = -sin * x + cos * z;
+
+            for (BlockFace horizontal : HORIZONTAL_FACES) {
+                if (horizontal.getModX() == rotatedX && horizontal.getModZ() == rotatedZ && directional.getFaces().contains(horizontal)) {
+                    Directional rotated = (Directional) data.clone();
+                    rotated.setFacing(horizontal);
+                    return rotated;
+                }
+            }
+        } else if (data instanceof Orientable orientable && cos == 0 && orientable.getAxis() != Axis.Y) {
+            Axis axis = orientable.getAxis() == Axis.X ? Axis.Z : Axis.X;
+
+            if (orientable.getAxes().contains(axis)) {
+                Orientable rotated = (Orientable) data.clone();
+                rotated.setAxis(axis);
+                return rotated;
+            }
+        }
+
+        return data;
+    }
+
+    /**
+     * The blocks of a schematic for a rotation.
+     *
+     * @param offsets    The packed offsets of the blocks from the start marker.
+     *                   Use {@link BlockHistory#unpackX(long)}, {@link BlockHistory#unpackY(long)} and {@link BlockHistory#unpackZ(long)} to read them.
+     * @param data       The block data of the blocks, in the same order as the offsets.
+     * @param startToEnd The offset from the start marker to the end marker.
+     */
+    public record Rotation(long[] offsets, BlockData[] data, Vector startToEnd) {
+
+        /**
+         * @return The offset from the start marker to the end marker.
+         */
+        @Override
+        public Vector startToEnd() {
+            return startToEnd.clone();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package dev.efnilite.ip.schematic;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <p>Immutable index of parkour schematics, sorted by difficulty.</p>
+ * <p>Since all schematics are equally likely, the amount of schematics up to a difficulty is the position found by a binary search,
+ * so selecting a random schematic takes logarithmic time without any string operations.</p>
+ */
+public final class SchematicIndex {
+
+    /**
+     * The index without schematics.
+     */
+    public static final SchematicIndex EMPTY = new SchematicIndex(new ParkourSchematic[0], new double[0]);
+
+    private final ParkourSchematic[] schematics;
+    private final double[] difficulties;
+
+    private SchematicIndex(ParkourSchematic[] schematics, double[] difficulties) {
+        this.schematics = schematics;
+        this.difficulties = difficulties;
+    }
+
+    /**
+     * Creates an index of all parkour schematics.
+     *
+     * @param schematics The analysed schematics by file name.
+     * @param difficulty The function which returns the difficulty of a file name.
+     * @return The index.
+     */
+    @NotNull
+    public static SchematicIndex of(@NotNull Map<String, ParkourSchematic> schematics, @NotNull ToDoubleFunction<String> difficulty) {
+        record Entry(String name, ParkourSchematic schematic, double difficulty) { }
+
+        List<Entry> entries = new ArrayList<>();
+        schematics.forEach((name, schematic) -> entries.add(new Entry(name, schematic, difficulty.applyAsDouble(name))));
+
+        // sort by name as well, so the same random selects the same schematic
+        entries.sort(Comparator.comparingDouble(Entry::difficulty).thenComparing(Entry::name));
+
+        int size = entries.size();
+        ParkourSchematic[] sorted = new ParkourSchematic[size];
+        double[] difficulties = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            Entry entry = entries.get(i);
+            sorted[i] = entry.schematic();
+            difficulties[i] = entry.difficulty();
+        }
+
+        return new SchematicIndex(sorted, difficulties);
+    }
+
+    /**
+     * @param maxDifficulty The maximum difficulty, inclusive.
+     * @return The amount of schematics with a difficulty up to maxDifficulty.
+     */
+    public int count(double maxDifficulty) {
+        int low = 0;
+        int high = difficulties.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (difficulties[mid] <= maxDifficulty) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * @param maxDifficulty The maximum difficulty, inclusive.
+     * @param random        The random instance.
+     * @return A random schematic with a difficulty up to maxDifficulty. Null if there is none.
+     */
+    @Nullable
+    public ParkourSchematic random(double maxDifficulty, @NotNull Random random) {
+        int count = count(maxDifficulty);
+
+        return count == 0 ? null : schematics[random.nextInt(count)];
+    }
+
+    /**
+     * @return The amount of schematics.
+     */
+    public int size() {
+        return schematics.length;
+    }
+}
@@ -17,6 +17,7 @@ import java.util.concurrent.ExecutionException;
 public class Schematics {
 
     public static final Map<String, Schematic> CACHE = new HashMap<>();
+    private static volatile SchematicIndex index = SchematicIndex.EMPTY;
     private static final String[] SPAWN_SCHEMATICS = new String[]{
             "spawn-island", "spawn-island-duels"
     };
@@ -59,11 +60,46 @@ public class Schematics {
                 }
             }
 
+            Map<String, ParkourSchematic> parkour = new HashMap<>();
+            CACHE.forEach((name, schematic) -> {
+                if (!name.contains("parkour-")) {
+                    return;
+                }
+
+                ParkourSchematic analysed = ParkourSchematic.of(schematic);
+
+                if (analysed == null) {
+                    IP.logging().stack("Error while trying to find start or end of schematic %s".formatted(name), "check if you placed a lime and a red wool block");
+                    return;
+                }
+
+                parkour.put(name, analysed);
+            });
+
+            index = SchematicIndex.of(parkour, Schematics::getDifficulty);
+
             IP.logging().info("Found %d unsupported schematic(s).".formatted(files.length - CACHE.keySet().size()));
             IP.logging().info("Loaded all schematics in %d ms!".formatted(Time.timerEnd("ip load schematics")));
         }).run();
     }
 
+    /**
+     * @return The index of all parkour schematics, which is replaced when schematics are reloaded.
+     */
+    public static SchematicIndex getIndex() {
+        return index;
+    }
+
+    private static double getDifficulty(String fileName) {
+        String path = "difficulty.%s".formatted(fileName.split("[-.]")[1]);
+
+        if (!Config.SCHEMATICS.isPath(path))  {
+            return 1.0; // todo remove
+        }
+
+        return Config.SCHEMATICS.getDouble(path);
+    }
+
     private static void download() {
         List<String> schematics = new ArrayList<>();
         schematics.addAll(Arrays.asList(SPAWN_SCHEMATICS));
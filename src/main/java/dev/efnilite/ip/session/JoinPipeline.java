@@ -0,0 +1,175 @@
+package dev.efnilite.ip.session;
+
+import dev.efnilite.ip.IP;
+import dev.efnilite.ip.config.Option;
+import dev.efnilite.ip.generator.IslandPool;
+import dev.efnilite.ip.generator.ParkourGenerator;
+import dev.efnilite.vilib.util.Task;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>Joins players in stages, so reading player data never blocks the main thread.</p>
+ * <ol>
+ *     <li>{@link Stage#LOAD}: the settings of the player are read from storage on another thread.</li>
+ *     <li>{@link Stage#HANDOFF}: the settings wait for the main thread.</li>
+ *     <li>{@link Stage#COMMIT}: the session is created on the main thread, which claims a section, builds the island,
+ *     generates the first blocks and teleports the player.</li>
+ * </ol>
+ * <p>The section and island are resolved in the commit stage, since the world may only be changed on the main thread.
+ * With the {@link IslandPool}, this only takes an island that has already been pasted.</p>
+ * <p>Players that are moved from one session to another by the plugin, like spectators of a session that is removed,
+ * use {@link #joinNow(Player, Function)}, so they are never left behind in a session that no longer exists.</p>
+ * <p>Only use this on the main thread.</p>
+ */
+public final class JoinPipeline {
+
+    /**
+     * The stages of joining.
+     */
+    public enum Stage {
+        LOAD, HANDOFF, COMMIT
+    }
+
+    // the players that are joining
+    private final Set<UUID> joining = new HashSet<>();
+
+    // metrics, by stage ordinal
+    private final long[] lastNanos = new long[Stage.values().length];
+    private final double[] averageNanos = new double[Stage.values().length];
+    private long completed;
+    private long aborted;
+
+    /**
+     * Joins a player in a new session. Does nothing if the player is already joining.
+     *
+     * @param player            The player.
+     * @param generatorFunction The generator function.
+     * @param onComplete        What to do with the session once the player has joined, or null.
+     * @return True when the player will join, false if the player is already joining.
+     */
+    public boolean join(@NotNull Player player, @NotNull Function<Session, ParkourGenerator> generatorFunction,
+                        @Nullable Consumer<Session> onComplete) {
+        UUID uuid = player.getUniqueId();
+
+        if (!joining.add(uuid)) {
+            return false;
+        }
+
+        long requested = System.nanoTime();
+
+        Task.create(IP.getPlugin()).async().execute(() -> {
+            Map<String, Object> settings = IP.getStorage().readSettings(uuid);
+            long loaded = System.nanoTime();
+
+            if (!IP.getPlugin().isEnabled()) {
+                return;
+            }
+
+            Task.create(IP.getPlugin())
+                    .execute(() -> commit(player, generatorFunction, onComplete, settings, requested, loaded))
+                    .run();
+        }).run();
+
+        return true;
+    }
+
+    /**
+     * Joins a player in a new session right away, reading the settings of the player on the main thread.
+     * A join of this player that is still loading is discarded.
+     *
+     * @param player            The player.
+     * @param generatorFunction The generator function.
+     * @return The new session.
+     */
+    @NotNull
+    public Session joinNow(@NotNull Player player, @NotNull Function<Session, ParkourGenerator> generatorFunction) {
+        UUID uuid = player.getUniqueId();
+
+        joining.remove(uuid);
+
+        return Session.create(generatorFunction, null, null, Map.of(uuid, IP.getStorage().readSettings(uuid)), player);
+    }
+
+    private void commit(Player player, Function<Session, ParkourGenerator> generatorFunction, Consumer<Session> onComplete,
+                        Map<String, Object> settings, long requested, long loaded) {
+        long start = System.nanoTime();
+        UUID uuid = player.getUniqueId();
+
+        record(Stage.LOAD, loaded - requested);
+        record(Stage.HANDOFF, start - loaded);
+
+        // the player may have left, joined right away or joining may have been disabled while loading
+        if (!joining.remove(uuid) || !player.isOnline() || !Option.JOINING) {
+            aborted++;
+            return;
+        }
+
+        Session session = Session.create(generatorFunction, null, null, Map.of(uuid, settings), player);
+
+        record(Stage.COMMIT, System.nanoTime() - start);
+        completed++;
+
+        if (onComplete != null) {
+            onComplete.accept(session);
+        }
+    }
+
+    private void record(Stage stage, long nanos) {
+        lastNanos[stage.ordinal()] = nanos;
+        averageNanos[stage.ordinal()] = averageNanos[stage.ordinal()] * 0.95 + nanos * 0.05;
+    }
+
+    /**
+     * @param player The player.
+     * @return True when the player is joining, false if not.
+     */
+    public boolean isJoining(@NotNull Player player) {
+        return joining.contains(player.getUniqueId());
+    }
+
+    /**
+     * @return The amount of players that are joining.
+     */
+    public int getJoining() {
+        return joining.size();
+    }
+
+    /**
+     * @param stage The stage.
+     * @return The time spent in stage by the previous join, in nanoseconds.
+     */
+    public long getLastNanos(@NotNull Stage stage) {
+        return lastNanos[stage.ordinal()];
+    }
+
+    /**
+     * @param stage The stage.
+     * @return The moving average of the time spent in stage per join, in nanoseconds.
+     */
+    public double getAverageNanos(@NotNull Stage stage) {
+        return averageNanos[stage.ordinal()];
+    }
+
+    /**
+     * @return The amount of joins that have been completed.
+     */
+    public long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return The amount of joins that have been stopped, since the player left or joining was disabled.
+     */
+    public long getAborted() {
+        return aborted;
+    }
+}
@@ -1,6 +1,8 @@
 package dev.efnilite.ip.session;
 
+import dev.efnilite.ip.IP;
 import dev.efnilite.ip.config.Locales;
+import dev.efnilite.ip.generator.Island;
 import dev.efnilite.ip.generator.ParkourGenerator;
 import dev.efnilite.ip.player.ParkourPlayer;
 import dev.efnilite.ip.player.ParkourSpectator;
@@ -8,8 +10,10 @@ import dev.efnilite.ip.player.ParkourUser;
 import dev.efnilite.ip.world.WorldDivider;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -22,6 +26,11 @@ import java.util.function.Function;
  */
 public class Session {
 
+    /**
+     * All users in all sessions, by UUID. Safe to read from any thread.
+     */
+    private static final Map<UUID, ParkourUser> USERS = new ConcurrentHashMap<>();
+
     /**
      * List of muted users.
      */
@@ -30,13 +39,25 @@ public class Session {
     /**
      * List of users.
      */
-    protected final Map<UUID, ParkourUser> users = new HashMap<>();
+    protected final Map<UUID, ParkourUser> users = new LinkedHashMap<>();
+
+    /**
+     * The players and spectators in {@link #users}, in order of joining.
+     * Replaced on every change, so they can be read from any thread without copying.
+     */
+    private volatile List<ParkourPlayer> players = List.of();
+    private volatile List<ParkourSpectator> spectators = List.of();
 
     /**
      * The generator.
      */
     public ParkourGenerator generator;
 
+    /**
+     * The section of this session, or null if this session has no section.
+     */
+    public WorldDivider.Section section;
+
     /**
      * The visibility of this session. Default public.
      */
@@ -65,11 +86,33 @@ public class Session {
                                  Function<Session, Boolean> isAcceptingPlayers,
                                  Function<Session, Boolean> isAcceptingSpectators,
                                  Player... players) {
-        Session session = new Session();
+        return create(generatorFunction, isAcceptingPlayers, isAcceptingSpectators, Map.of(), players);
+    }
 
-        session.generator = generatorFunction.apply(session);
+    /**
+     * Creates a new session.
+     *
+     * @param generatorFunction     The generator function.
+     * @param isAcceptingPlayers    The function that takes the current session and returns whether new players should be accepted.
+     * @param isAcceptingSpectators The function that takes the current session and returns whether new spectators should be accepted.
+     * @param settings              The settings of players that have already been read, by UUID. Settings of other players are read now.
+     * @param players               The players.
+     * @return The session.
+     */
+    public static Session create(Function<Session, ParkourGenerator> generatorFunction,
+                                 Function<Session, Boolean> isAcceptingPlayers,
+                                 Function<Session, Boolean> isAcceptingSpectators,
+                                 Map<UUID, Map<String, Object>> settings,
+                                 Player... players) {
+        Session session = new Session();
 
-        WorldDivider.associate(session);
+        // use a section with an island that has already been pasted, if there is one
+        Island.Pasted pasted = IP.getIslandPool().claim();
+        if (pasted != null) {
+            WorldDivider.associate(session, pasted.section());
+        } else {
+            WorldDivider.associate(session);
+        }
 
         if (isAcceptingPlayers != null) session.isAcceptingPlayers = isAcceptingPlayers;
         if (isAcceptingSpectators != null) session.isAcceptingSpectators = isAcceptingSpectators;
@@ -77,7 +120,7 @@ public class Session {
         List<ParkourPlayer> pps = new ArrayList<>();
         if (players != null) {
             for (Player player : players) {
-                ParkourPlayer pp = ParkourUser.register(player, session);
+                ParkourPlayer pp = ParkourUser.register(player, session, settings.get(player.getUniqueId()));
                 session.addPlayers(pp);
                 pps.add(pp);
             }
@@ -89,7 +132,7 @@ public class Session {
             pps.forEach(p -> p.updateGeneratorSettings(session.generator));
         }
 
-        session.generator.island.build();
+        session.generator.island.build(pasted);
 
         return session;
     }
@@ -106,6 +149,8 @@ public class Session {
             }
 
             users.put(player.getUUID(), player);
+            USERS.put(player.getUUID(), player);
+            updateSnapshots();
         }
     }
 
@@ -117,6 +162,8 @@ public class Session {
     public void removePlayers(ParkourPlayer... toRemove) {
         for (ParkourPlayer player : toRemove) {
             users.remove(player.getUUID());
+            USERS.remove(player.getUUID(), player);
+            updateSnapshots();
         }
 
         List<ParkourPlayer> players = getPlayers();
@@ -133,13 +180,10 @@ public class Session {
     }
 
     /**
-     * @return The players.
+     * @return The players. This list can't be modified.
      */
     public List<ParkourPlayer> getPlayers() {
-        return users.values().stream()
-                .filter(user -> user instanceof ParkourPlayer)
-                .map(user -> (ParkourPlayer) user)
-                .toList();
+        return players;
     }
 
     /**
@@ -154,6 +198,8 @@ public class Session {
             }
 
             users.put(spectator.getUUID(), spectator);
+            USERS.put(spectator.getUUID(), spectator);
+            updateSnapshots();
         }
     }
 
@@ -169,14 +215,25 @@ public class Session {
             }
 
             users.remove(spectator.getUUID());
+            USERS.remove(spectator.getUUID(), spectator);
+            updateSnapshots();
         }
     }
 
     /**
-     * @return The spectators.
+     * @return The spectators. This list can't be modified.
      */
     public List<ParkourSpectator> getSpectators() {
-        return users.values().stream()
+        return spectators;
+    }
+
+    // rebuilds the player and spectator lists after users has changed
+    private void updateSnapshots() {
+        players = users.values().stream()
+                .filter(user -> user instanceof ParkourPlayer)
+                .map(user -> (ParkourPlayer) user)
+                .toList();
+        spectators = users.values().stream()
                 .filter(user -> user instanceof ParkourSpectator)
                 .map(user -> (ParkourSpectator) user)
                 .toList();
@@ -189,6 +246,25 @@ public class Session {
         return new ArrayList<>(users.values());
     }
 
+    /**
+     * Safe to use from any thread.
+     *
+     * @param uuid The UUID.
+     * @return The user with this UUID in any session, null if not found.
+     */
+    public static @Nullable ParkourUser getUser(@NotNull UUID uuid) {
+        return USERS.get(uuid);
+    }
+
+    /**
+     * Safe to use from any thread.
+     *
+     * @return The users in all sessions.
+     */
+    public static Collection<ParkourUser> getAllUsers() {
+        return Collections.unmodifiableCollection(USERS.values());
+    }
+
     /**
      * Toggles mute for the specified user.
      *
@@ -43,12 +43,22 @@ public interface Storage {
      */
     void writeScores(@NotNull String mode, @NotNull Map<UUID, Score> scores);
 
+    /**
+     * Reads player data without applying it. Safe to use from any thread.
+     *
+     * @param uuid The uuid of the player.
+     * @return Map with the settings by column name, empty if the player has no data.
+     */
+    @NotNull Map<String, Object> readSettings(@NotNull UUID uuid);
+
     /**
      * Reads player data and applies changes.
      *
      * @param player The player.
      */
-    void readPlayer(@NotNull ParkourPlayer player);
+    default void readPlayer(@NotNull ParkourPlayer player) {
+        player.setSettings(readSettings(player.getUUID()));
+    }
 
     /**
      * Writes player data.
@@ -86,13 +86,12 @@ public final class StorageDisk implements Storage {
     }
 
     @Override
-    public void readPlayer(@NotNull ParkourPlayer player) {
-        if (!getPlayerFile(player).exists()) {
-            player.setSettings(new HashMap<>());
-            return;
+    public @NotNull Map<String, Object> readSettings(@NotNull UUID uuid) {
+        if (!getPlayerFile(uuid).exists()) {
+            return new HashMap<>();
         }
 
-        try (FileReader reader = new FileReader(getPlayerFile(player))) {
+        try (FileReader reader = new FileReader(getPlayerFile(uuid))) {
             ParkourPlayer from = IP.getGson().fromJson(reader, ParkourPlayer.class);
 
             Map<String, Object> settings = new HashMap<>();
@@ -109,15 +108,16 @@ public final class StorageDisk implements Storage {
             settings.put("schematicDifficulty", from.schematicDifficulty);
             settings.put("sound", from.sound);
 
-            player.setSettings(settings);
+            return settings;
         } catch (IOException ex) {
-            IP.logging().stack("Error while trying to read disk data of %s".formatted(player.getName()), ex);
+            IP.logging().stack("Error while trying to read disk data of %s".formatted(uuid), ex);
+            return new HashMap<>();
         }
     }
 
     @Override
     public void writePlayer(@NotNull ParkourPlayer player) {
-        File file = getPlayerFile(player);
+        File file = getPlayerFile(player.getUUID());
 
         createFile(file);
 
@@ -142,7 +142,7 @@ public final class StorageDisk implements Storage {
         }
     }
 
-    private File getPlayerFile(ParkourPlayer player) {
-        return IP.getInFolder("players/%s.json".formatted(player.getUUID()));
+    private File getPlayerFile(UUID uuid) {
+        return IP.getInFolder("players/%s.json".formatted(uuid));
     }
 }
\ No newline at end of file
@@ -103,37 +103,34 @@ public final class StorageSQL implements Storage {
     }
 
     @Override
-    public void readPlayer(@NotNull ParkourPlayer player) {
+    public @NotNull Map<String, Object> readSettings(@NotNull UUID uuid) {
         try (ResultSet results = sendQuery(
                 """
                 SELECT * FROM `%s` WHERE uuid = '%s';
                 """
-                .formatted("%soptions".formatted(Option.SQL_PREFIX), player.getUUID()))) {
+                .formatted("%soptions".formatted(Option.SQL_PREFIX), uuid))) {
 
             if (results == null) {
-                player.setSettings(new HashMap<>());
-                return;
+                return new HashMap<>();
             }
 
             boolean hasNext = results.next(); // move cursor
 
             if (!hasNext) {
-                player.setSettings(new HashMap<>());
-                return;
+                return new HashMap<>();
             }
 
-            Map<String, Object> settings = Colls.thread(ParkourPlayer.PLAYER_COLUMNS).mapv((key, value) -> {
+            return Colls.thread(ParkourPlayer.PLAYER_COLUMNS).mapv((key, value) -> {
                 try {
                     return results.getObject(key);
                 } catch (SQLException ex) {
-                    IP.logging().stack("Error while trying to read SQL data of %s, option = %s".formatted(player.getName(), key), ex);
+                    IP.logging().stack("Error while trying to read SQL data of %s, option = %s".formatted(uuid, key), ex);
                     return null;
                 }
             }).get();
-
-            player.setSettings(settings);
         } catch (SQLException ex) {
-            IP.logging().stack("Error while trying to read SQL data of %s".formatted(player.getName()), ex);
+            IP.logging().stack("Error while trying to read SQL data of %s".formatted(uuid), ex);
+            return new HashMap<>();
         }
     }
 
@@ -158,12 +155,12 @@ public final class StorageSQL implements Storage {
                                         """
                 .formatted("%soptions".formatted(Option.SQL_PREFIX), player.getUUID(), player.style, player.blockLead,
                         player.particles, player.useSpecialBlocks, player.showFallMessage,
-                        player.showScoreboard, player.selectedTime, String.join(",", player.collectedRewards), player.locale,
+                        player.showScoreboard, player.selectedTime, player.collectedRewards.join(","), player.locale,
                         player.schematicDifficulty, player.sound,
 
                         player.style, player.blockLead,
                         player.particles, player.useSpecialBlocks, player.showFallMessage,
-                        player.showScoreboard, player.selectedTime, String.join(",", player.collectedRewards), player.locale,
+                        player.showScoreboard, player.selectedTime, player.collectedRewards.join(","), player.locale,
                         player.schematicDifficulty, player.sound));
     }
 
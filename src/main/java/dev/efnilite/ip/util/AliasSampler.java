@@ -0,0 +1,150 @@
+package dev.efnilite.ip.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>Immutable weighted random selector using the alias method.</p>
+ * <p>Building takes linear time, after which every sample takes constant time without allocating.
+ * Use this instead of sampling a chance map directly when the same map is sampled often.</p>
+ *
+ * @param <T> The type of the values.
+ */
+public final class AliasSampler<T> {
+
+    private final Object[] values;
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    private AliasSampler(Object[] values, double[] probabilities, int[] aliases) {
+        this.values = values;
+        this.probabilities = probabilities;
+        this.aliases = aliases;
+    }
+
+    /**
+     * Compiles a chance map. Entries with a chance of 0 or lower are never selected.
+     * When no chance is above 0, every value is equally likely.
+     * Values are stored in the iteration order of chances, so the same random sequence only gives the same values
+     * when chances has a fixed order, like an {@link java.util.EnumMap} or {@link TreeMap}. Otherwise, use {@link #of(Map, Comparator)}.
+     *
+     * @param chances The map of values and their chances. Chances don't have to add up to 1.
+     * @param <T>     The type of the values.
+     * @return The sampler.
+     * @throws IllegalArgumentException when chances is empty.
+     */
+    @NotNull
+    public static <T> AliasSampler<T> of(@NotNull Map<T, Double> chances) {
+        if (chances.isEmpty()) {
+            throw new IllegalArgumentException("Can't sample from empty chances");
+        }
+
+        int n = chances.size();
+        Object[] values = new Object[n];
+        double[] weights = new double[n];
+        double total = 0;
+
+        int i = 0;
+        for (Map.Entry<T, Double> entry : chances.entrySet()) {
+            values[i] = entry.getKey();
+            weights[i] = Math.max(0, entry.getValue());
+            total += weights[i];
+            i++;
+        }
+
+        // scale so the average weight is 1
+        double[] scaled = new double[n];
+        for (i = 0; i < n; i++) {
+            scaled[i] = total > 0 ? weights[i] * n / total : 1;
+        }
+
+        double[] probabilities = new double[n];
+        int[] aliases = new int[n];
+
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+
+        for (i = 0; i < n; i++) {
+            if (scaled[i] < 1) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+
+            scaled[more] = scaled[more] + scaled[less] - 1;
+
+            if (scaled[more] < 1) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+
+        // remaining items only differ from 1 by rounding errors
+        while (largeSize > 0) {
+            int index = large[--largeSize];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+        while (smallSize > 0) {
+            int index = small[--smallSize];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+
+        return new AliasSampler<>(values, probabilities, aliases);
+    }
+
+    /**
+     * Compiles a chance map with the values in a fixed order, so the same random sequence always gives the same values.
+     *
+     * @param chances The map of values and their chances. Chances don't have to add up to 1.
+     * @param order   The order of the values.
+     * @param <T>     The type of the values.
+     * @return The sampler.
+     * @throws IllegalArgumentException when chances is empty.
+     * @see #of(Map)
+     */
+    @NotNull
+    public static <T> AliasSampler<T> of(@NotNull Map<T, Double> chances, @NotNull Comparator<? super T> order) {
+        Map<T, Double> sorted = new TreeMap<>(order);
+        sorted.putAll(chances);
+
+        return of(sorted);
+    }
+
+    /**
+     * @param random The random instance.
+     * @return A random value, weighted by its chance.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public T sample(@NotNull Random random) {
+        int column = random.nextInt(values.length);
+
+        return (T) values[random.nextDouble() < probabilities[column] ? column : aliases[column]];
+    }
+
+    /**
+     * @return A random value, weighted by its chance.
+     */
+    @NotNull
+    public T sample() {
+        return sample(ThreadLocalRandom.current());
+    }
+}
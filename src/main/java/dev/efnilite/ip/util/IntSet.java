@@ -0,0 +1,205 @@
+package dev.efnilite.ip.util;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * <p>Set of ints, stored in an open addressing hash table without boxing.</p>
+ * <p>Lookups take constant time. Ints are never removed, except by clearing the set.</p>
+ */
+public final class IntSet {
+
+    private int[] keys;
+    private boolean[] used;
+    private int size;
+
+    public IntSet() {
+        this(16);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The amount of ints that can be added before growing. Must be positive.
+     */
+    public IntSet(int capacity) {
+        int length = Integer.highestOneBit(Math.max(1, capacity) * 2 - 1) * 2;
+
+        keys = new int[length];
+        used = new boolean[length];
+    }
+
+    /**
+     * @param value The int.
+     * @return True when value was added, false if it was already in this set.
+     */
+    public boolean add(int value) {
+        int slot = slot(value);
+
+        while (used[slot]) {
+            if (keys[slot] == value) {
+                return false;
+            }
+
+            slot = (slot + 1) & (keys.length - 1);
+        }
+
+        keys[slot] = value;
+        used[slot] = true;
+        size++;
+
+        if (size * 2 > keys.length) {
+            grow();
+        }
+
+        return true;
+    }
+
+    /**
+     * @param value The int.
+     * @return True when value is in this set, false if not.
+     */
+    public boolean contains(int value) {
+        int slot = slot(value);
+
+        while (used[slot]) {
+            if (keys[slot] == value) {
+                return true;
+            }
+
+            slot = (slot + 1) & (keys.length - 1);
+        }
+
+        return false;
+    }
+
+    /**
+     * @return The amount of ints in this set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return True when this set is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all ints.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * @return The ints in this set, sorted.
+     */
+    public int[] toArray() {
+        int[] values = new int[size];
+
+        int i = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                values[i++] = keys[slot];
+            }
+        }
+
+        Arrays.sort(values);
+
+        return values;
+    }
+
+    /**
+     * @param delimiter The delimiter.
+     * @return The sorted ints in this set, separated by delimiter.
+     */
+    @NotNull
+    public String join(@NotNull CharSequence delimiter) {
+        StringJoiner joiner = new StringJoiner(delimiter);
+
+        for (int value : toArray()) {
+            joiner.add(Integer.toString(value));
+        }
+
+        return joiner.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "[" + join(", ") + "]";
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        boolean[] oldUsed = used;
+
+        keys = new int[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        size = 0;
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldUsed[slot]) {
+                add(oldKeys[slot]);
+            }
+        }
+    }
+
+    private int slot(int value) {
+        int h = value * 0x9E3779B9;
+
+        return (h ^ (h >>> 16)) & (keys.length - 1);
+    }
+
+    /**
+     * Stores a set as a list of strings, the format in which collected rewards were always stored.
+     */
+    public static final class Adapter extends TypeAdapter<IntSet> {
+
+        @Override
+        public void write(JsonWriter out, IntSet set) throws IOException {
+            if (set == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginArray();
+            for (int value : set.toArray()) {
+                out.value(Integer.toString(value));
+            }
+            out.endArray();
+        }
+
+        @Override
+        public IntSet read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            IntSet set = new IntSet();
+
+            in.beginArray();
+            while (in.hasNext()) {
+                try {
+                    set.add(Integer.parseInt(in.nextString().trim()));
+                } catch (NumberFormatException ignored) {
+                    // not a score
+                }
+            }
+            in.endArray();
+
+            return set;
+        }
+    }
+}
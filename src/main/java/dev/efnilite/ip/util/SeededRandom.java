@@ -0,0 +1,67 @@
+package dev.efnilite.ip.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+/**
+ * <p>Random number generator of which the state can be copied and split, based on SplitMix64.</p>
+ * <p>The same seed always produces the same values, which makes it possible to reproduce parkour.
+ * Unlike {@link Random}, this class is not thread-safe. Use {@link #copy()} or {@link #split()} to use it on another thread.</p>
+ */
+public final class SeededRandom extends Random {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * Constructor.
+     *
+     * @param seed The seed.
+     */
+    public SeededRandom(long seed) {
+        super(seed);
+        this.state = seed;
+    }
+
+    /**
+     * @return A generator with the same state, which produces the same values as this generator without affecting it.
+     */
+    @NotNull
+    public SeededRandom copy() {
+        return new SeededRandom(state);
+    }
+
+    /**
+     * @return A new generator, seeded by this generator.
+     */
+    @NotNull
+    public SeededRandom split() {
+        return new SeededRandom(nextLong());
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+}
@@ -0,0 +1,279 @@
+package dev.efnilite.ip.world;
+
+import dev.efnilite.ip.IP;
+import dev.efnilite.ip.config.Option;
+import dev.efnilite.vilib.util.Task;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Schedules the block changes of all sessions, to avoid a lot of changes in a single tick.</p>
+ * <p>Every tick, at most {@link Option#BLOCK_CHANGES_PER_TICK} changes are made.
+ * Blocks in front of players are placed immediately while this tick's budget allows it,
+ * and are otherwise placed before any cleanup at the start of the next tick.
+ * When a block gets multiple changes before it is changed, only the most recent change is made.</p>
+ * <p>Only use this on the main thread.</p>
+ */
+public final class BlockScheduler {
+
+    private static final BlockData AIR = Material.AIR.createBlockData();
+
+    private final Map<Block, Change> pending = new HashMap<>();
+    private final ArrayDeque<Change> generate = new ArrayDeque<>();
+    private final ArrayDeque<Change> cleanup = new ArrayDeque<>();
+
+    private BukkitTask task;
+
+    // changes that may still be made this tick
+    private int budget;
+
+    // metrics of the current tick
+    private int tickChanges;
+    private long tickNanos;
+
+    // metrics of the previous ticks
+    private int lastTickChanges;
+    private long lastTickNanos;
+    private double averageTickNanos;
+    private long totalChanges;
+
+    /**
+     * Starts draining the queue every tick.
+     */
+    public void start() {
+        budget = Option.BLOCK_CHANGES_PER_TICK;
+        task = Task.create(IP.getPlugin())
+                .repeat(1)
+                .execute(this::tick)
+                .run();
+    }
+
+    /**
+     * Stops draining the queue and makes all remaining changes.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+        }
+
+        flush();
+    }
+
+    /**
+     * Schedules a block change.
+     *
+     * @param block    The block.
+     * @param data     The new block data.
+     * @param physics  Whether to apply physics.
+     * @param priority The priority.
+     */
+    public void set(@NotNull Block block, @NotNull BlockData data, boolean physics, @NotNull Priority priority) {
+        cancel(block);
+
+        if (priority == Priority.GENERATE && budget > 0) {
+            apply(block, data, physics);
+            return;
+        }
+
+        Change change = new Change(block, data, physics);
+        pending.put(block, change);
+
+        (priority == Priority.GENERATE ? generate : cleanup).add(change);
+    }
+
+    /**
+     * Schedules setting a block to air.
+     *
+     * @param block    The block.
+     * @param priority The priority.
+     */
+    public void setAir(@NotNull Block block, @NotNull Priority priority) {
+        set(block, AIR, false, priority);
+    }
+
+    /**
+     * Schedules setting blocks to air.
+     *
+     * @param blocks   The blocks.
+     * @param priority The priority.
+     */
+    public void setAir(@NotNull Collection<Block> blocks, @NotNull Priority priority) {
+        for (Block block : blocks) {
+            setAir(block, priority);
+        }
+    }
+
+    /**
+     * Cancels the scheduled change of a block.
+     * Use this when a block gets changed without this scheduler, like schematic pasting, to avoid it being overwritten.
+     *
+     * @param block The block.
+     */
+    public void cancel(@NotNull Block block) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Change change = pending.remove(block);
+
+        if (change != null) {
+            change.cancelled = true;
+        }
+    }
+
+    /**
+     * @param block The block.
+     * @return The material the block will have after all scheduled changes.
+     */
+    @NotNull
+    public Material getType(@NotNull Block block) {
+        Change change = pending.isEmpty() ? null : pending.get(block);
+
+        return change != null ? change.data.getMaterial() : block.getType();
+    }
+
+    /**
+     * Makes the scheduled changes of blocks now, ignoring the budget.
+     *
+     * @param blocks The blocks.
+     */
+    public void flush(@NotNull Collection<Block> blocks) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        for (Block block : blocks) {
+            Change change = pending.remove(block);
+
+            if (change != null) {
+                change.cancelled = true;
+                apply(block, change.data, change.physics);
+            }
+        }
+    }
+
+    /**
+     * Makes all scheduled changes, ignoring the budget.
+     */
+    public void flush() {
+        budget = Integer.MAX_VALUE;
+        drain(generate);
+        drain(cleanup);
+        budget = Option.BLOCK_CHANGES_PER_TICK;
+    }
+
+    private void tick() {
+        lastTickChanges = tickChanges;
+        lastTickNanos = tickNanos;
+        averageTickNanos = averageTickNanos * 0.95 + tickNanos * 0.05;
+
+        tickChanges = 0;
+        tickNanos = 0;
+        budget = Option.BLOCK_CHANGES_PER_TICK;
+
+        drain(generate);
+        drain(cleanup);
+    }
+
+    private void drain(ArrayDeque<Change> queue) {
+        while (budget > 0) {
+            Change change = queue.poll();
+
+            if (change == null) {
+                return;
+            }
+
+            if (change.cancelled) {
+                continue;
+            }
+
+            pending.remove(change.block);
+            apply(change.block, change.data, change.physics);
+        }
+    }
+
+    private void apply(Block block, BlockData data, boolean physics) {
+        long start = System.nanoTime();
+
+        block.setBlockData(data, physics);
+
+        tickNanos += System.nanoTime() - start;
+        tickChanges++;
+        totalChanges++;
+        budget--;
+    }
+
+    /**
+     * @return The amount of changes that are waiting to be made.
+     */
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    /**
+     * @return The amount of changes made in the previous tick.
+     */
+    public int getLastTickChanges() {
+        return lastTickChanges;
+    }
+
+    /**
+     * @return The time spent making changes in the previous tick, in nanoseconds.
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * @return The moving average of the time spent making changes per tick, in nanoseconds.
+     */
+    public double getAverageTickNanos() {
+        return averageTickNanos;
+    }
+
+    /**
+     * @return The amount of changes made since this scheduler was created.
+     */
+    public long getTotalChanges() {
+        return totalChanges;
+    }
+
+    /**
+     * The priority of a change.
+     */
+    public enum Priority {
+
+        /**
+         * Blocks in front of players, which should be visible as soon as possible.
+         */
+        GENERATE,
+
+        /**
+         * Blocks that are removed, which may wait.
+         */
+        CLEANUP
+
+    }
+
+    private static final class Change {
+
+        private final Block block;
+        private final BlockData data;
+        private final boolean physics;
+        private boolean cancelled;
+
+        private Change(Block block, BlockData data, boolean physics) {
+            this.block = block;
+            this.data = data;
+            this.physics = physics;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package dev.efnilite.ip.world;
+
+import dev.efnilite.ip.IP;
+import dev.efnilite.ip.config.Option;
+import dev.efnilite.vilib.util.Task;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Gathers the particles and sounds of generated blocks, and shows them once per tick per viewer.</p>
+ * <p>All blocks a viewer should see effects for in a tick are combined into one effect and one sound.
+ * Viewers that are in another world or further away than {@link Option#PARTICLE_VIEW_DISTANCE} are skipped.
+ * When the server is under load, the particle shape is replaced by a dot, and when overloaded, fewer particles are used.
+ * Load is measured by the time between ticks of this batcher, so it works on Spigot and Paper.</p>
+ * <p>Only use this on the main thread.</p>
+ */
+public final class EffectBatcher {
+
+    // the average time between ticks in ms above which effects are reduced. a tick takes 50ms when the server keeps up
+    private static final double HEAVY_LOAD = 55;
+    private static final double OVERLOAD = 65;
+
+    private final Map<Player, Batch> batches = new LinkedHashMap<>();
+
+    private BukkitTask task;
+    private int loadLevel;
+
+    // measures the time between ticks, which works on all servers
+    private long lastTick;
+    private double averageTickMillis = 50;
+
+    // metrics
+    private long shown;
+    private long culled;
+
+    /**
+     * Starts showing effects every tick.
+     */
+    public void start() {
+        task = Task.create(IP.getPlugin())
+                .repeat(1)
+                .execute(this::tick)
+                .run();
+    }
+
+    /**
+     * Stops showing effects. Effects that are still waiting are discarded.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+        }
+
+        batches.clear();
+    }
+
+    /**
+     * Shows particles around blocks to viewers.
+     *
+     * @param viewers The viewers.
+     * @param blocks  The blocks.
+     */
+    public void particles(@NotNull Collection<Player> viewers, @NotNull List<Block> blocks) {
+        for (Player viewer : viewers) {
+            batch(viewer, blocks).particles = true;
+        }
+    }
+
+    /**
+     * Plays the block generation sound to viewers.
+     *
+     * @param viewers The viewers.
+     * @param blocks  The blocks.
+     */
+    public void sound(@NotNull Collection<Player> viewers, @NotNull List<Block> blocks) {
+        for (Player viewer : viewers) {
+            Batch batch = batch(viewer, blocks);
+
+            if (batch.sound == null) {
+                batch.sound = blocks.get(0).getLocation();
+            }
+        }
+    }
+
+    private Batch batch(Player viewer, List<Block> blocks) {
+        Batch batch = batches.computeIfAbsent(viewer, v -> new Batch(blocks.get(0).getWorld()));
+
+        for (Block block : blocks) {
+            if (block.getWorld() == batch.world) {
+                batch.add(block);
+            }
+        }
+
+        return batch;
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        if (lastTick != 0) {
+            averageTickMillis = averageTickMillis * 0.95 + (now - lastTick) / 1_000_000.0 * 0.05;
+        }
+        lastTick = now;
+
+        if (batches.isEmpty()) {
+            return;
+        }
+
+        loadLevel = averageTickMillis > OVERLOAD ? 2 : averageTickMillis > HEAVY_LOAD ? 1 : 0;
+
+        double distance = Option.PARTICLE_VIEW_DISTANCE;
+
+        batches.forEach((viewer, batch) -> {
+            if (!viewer.isOnline() || batch.blocks == 0) {
+                return;
+            }
+
+            Location location = viewer.getLocation();
+            if (location.getWorld() != batch.world || distanceSquared(location, batch) > distance * distance) {
+                culled++;
+                return;
+            }
+
+            if (batch.particles) {
+                draw(viewer, batch);
+            }
+
+            if (batch.sound != null) {
+                viewer.playSound(batch.sound, Option.SOUND_TYPE, 4, Option.SOUND_PITCH);
+            }
+
+            shown++;
+        });
+
+        batches.clear();
+    }
+
+    private double distanceSquared(Location location, Batch batch) {
+        double dx = location.getX() - Math.max(batch.minX, Math.min(location.getX(), batch.maxX + 1));
+        double dy = location.getY() - Math.max(batch.minY, Math.min(location.getY(), batch.maxY + 1));
+        double dz = location.getZ() - Math.max(batch.minZ, Math.min(location.getZ(), batch.maxZ + 1));
+
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void draw(Player viewer, Batch batch) {
+        Particle type = Option.PARTICLE_TYPE;
+
+        double centerX = (batch.minX + batch.maxX + 1) / 2.0;
+        double centerY = (batch.minY + batch.maxY + 1) / 2.0;
+        double centerZ = (batch.minZ + batch.maxZ + 1) / 2.0;
+
+        switch (loadLevel > 0 ? Option.ParticleShape.DOT : Option.PARTICLE_SHAPE) {
+            case DOT -> viewer.spawnParticle(type, centerX, centerY + 0.5, centerZ, loadLevel > 1 ? 5 : 20, 0.5, 1, 0.5, 0.4);
+            case CIRCLE -> {
+                int radius = (int) Math.sqrt(batch.blocks);
+
+                for (int i = 0; i < 20; i++) {
+                    double angle = 2 * Math.PI * i / 20;
+                    viewer.spawnParticle(type, centerX + radius * Math.cos(angle), centerY, centerZ + radius * Math.sin(angle), 5, 0, 0, 0, 0);
+                }
+            }
+            case BOX -> {
+                double x1 = batch.minX, y1 = batch.minY, z1 = batch.minZ;
+                double x2 = batch.maxX + 1, y2 = batch.maxY + 1, z2 = batch.maxZ + 1;
+
+                for (double x = x1; x <= x2; x += 0.2) {
+                    edge(viewer, type, x, y1, z1, x, y1, z2, x, y2, z1, x, y2, z2);
+                }
+                for (double y = y1; y <= y2; y += 0.2) {
+                    edge(viewer, type, x1, y, z1, x1, y, z2, x2, y, z1, x2, y, z2);
+                }
+                for (double z = z1; z <= z2; z += 0.2) {
+                    edge(viewer, type, x1, y1, z, x1, y2, z, x2, y1, z, x2, y2, z);
+                }
+            }
+        }
+    }
+
+    // draws a point on each of the four parallel edges of a box
+    private void edge(Player viewer, Particle type, double... points) {
+        for (int i = 0; i < points.length; i += 3) {
+            viewer.spawnParticle(type, points[i], points[i + 1], points[i + 2], 1, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * @return The current load level. 0 is normal, 1 replaces shapes by dots, 2 also uses fewer particles.
+     */
+    public int getLoadLevel() {
+        return loadLevel;
+    }
+
+    /**
+     * @return The amount of times effects were shown to a viewer.
+     */
+    public long getShown() {
+        return shown;
+    }
+
+    /**
+     * @return The amount of times effects were not shown to a viewer, since the viewer was too far away.
+     */
+    public long getCulled() {
+        return culled;
+    }
+
+    // the effects of a viewer in the current tick
+    private static final class Batch {
+
+        private final World world;
+        private int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        private int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        private int blocks;
+        private boolean particles;
+        private Location sound;
+
+        private Batch(World world) {
+            this.world = world;
+        }
+
+        private void add(Block block) {
+            minX = Math.min(minX, block.getX());
+            minY = Math.min(minY, block.getY());
+            minZ = Math.min(minZ, block.getZ());
+            maxX = Math.max(maxX, block.getX());
+            maxY = Math.max(maxY, block.getY());
+            maxZ = Math.max(maxZ, block.getZ());
+            blocks++;
+        }
+    }
+}
@@ -4,9 +4,13 @@ import dev.efnilite.ip.config.Option;
 import dev.efnilite.ip.session.Session;
 import dev.efnilite.ip.util.Util;
 import org.bukkit.Location;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 /**
  * <p>Divides the parkour world in sections, each with an active session.</p>
@@ -22,20 +26,44 @@ public class WorldDivider {
      */
     public static final Map<Integer, Session> sessions = new HashMap<>();
 
+    /**
+     * The ids below {@link #next} that are not in use, smallest first.
+     */
+    private static final PriorityQueue<Integer> free = new PriorityQueue<>();
+
+    /**
+     * The smallest id that has never been used.
+     */
+    private static int next = 0;
+
+    /**
+     * The spiral positions of all ids below {@link #next}, by id, so the spiral is computed once per id.
+     * Only the positions are kept, since the height of sections may change on reload.
+     */
+    private static final List<int[]> positions = new ArrayList<>();
+
     /**
      * Associates a session to a specific section.
      *
      * @param session The session.
      */
     public static synchronized void associate(Session session) {
-        // attempts to get the closest available section to the center
-        int n = 0;
-
-        while (sessions.containsKey(n)) {
-            n++;
+        if (session.section != null) {
+            return;
         }
 
-        sessions.put(n, session);
+        associate(session, reserve());
+    }
+
+    /**
+     * Associates a session to a section that has been reserved with {@link #reserve()}.
+     *
+     * @param session The session.
+     * @param section The section.
+     */
+    public static synchronized void associate(Session session, Section section) {
+        sessions.put(section.id(), session);
+        session.section = section;
     }
 
     /**
@@ -43,31 +71,67 @@ public class WorldDivider {
      *
      * @param session The session.
      */
-    public static void disassociate(Session session) {
-        sessions.remove(getSectionId(session));
+    public static synchronized void disassociate(Session session) {
+        Section section = detach(session);
+
+        if (section != null) {
+            release(section);
+        }
     }
 
     /**
+     * Disassociates a session from its section, but keeps the section reserved.
+     *
      * @param session The session.
-     * @return The location at the center of section n.
+     * @return The section, or null if the session has no section.
      */
-    public static Location toLocation(Session session) {
-        int[] xz = Util.spiralAt(getSectionId(session));
+    public static synchronized @Nullable Section detach(Session session) {
+        Section section = session.section;
 
-        return new Location(WorldManager.getWorld(),
-                xz[0] * Option.BORDER_SIZE,
-                (Option.MAX_Y + Option.MIN_Y) / 2.0,
-                xz[1] * Option.BORDER_SIZE);
+        if (section == null) {
+            return null;
+        }
+
+        session.section = null;
+        sessions.remove(section.id());
+
+        return section;
     }
 
+    /**
+     * Reserves a section without a session.
+     *
+     * @return The closest available section to the center, since the spiral moves outwards.
+     */
+    public static synchronized Section reserve() {
+        if (!free.isEmpty()) {
+            int id = free.poll();
 
-    // returns the section id from the session instance. error if no found.
-    private static int getSectionId(Session session) {
-        return sessions.entrySet().stream()
-                .filter(entry -> entry.getValue() == session)
-                .map(Map.Entry::getKey)
-                .findFirst()
-                .orElseThrow();
+            return Section.of(id, positions.get(id));
+        }
+
+        int id = next++;
+        int[] xz = Util.spiralAt(id);
+        positions.add(xz);
+
+        return Section.of(id, xz);
+    }
+
+    /**
+     * Makes a reserved section available again.
+     *
+     * @param section The section.
+     */
+    public static synchronized void release(Section section) {
+        free.add(section.id());
+    }
+
+    /**
+     * @param session The session.
+     * @return The location at the center of section n.
+     */
+    public static Location toLocation(Session session) {
+        return getSection(session).center().clone();
     }
 
     /**
@@ -75,15 +139,48 @@ public class WorldDivider {
      * @return Array where the first item is the smallest location and second item is the largest.
      */
     public static Location[] toSelection(Session session) {
-        Location center = toLocation(session);
+        Section section = getSection(session);
 
-        // get the min and max locations
-        Location max = center.clone().add(Option.BORDER_SIZE / 2, 0, Option.BORDER_SIZE / 2);
-        Location min = center.clone().subtract(Option.BORDER_SIZE / 2, 0, Option.BORDER_SIZE / 2);
+        return new Location[] { section.min().clone(), section.max().clone() };
+    }
+
+    // returns the section of the session. error if not found.
+    private static Section getSection(Session session) {
+        Section section = session.section;
 
-        max.setY(Option.MAX_Y);
-        min.setY(Option.MIN_Y);
+        if (section == null) {
+            throw new IllegalStateException("Session is not associated with a section");
+        }
 
-        return new Location[] { min, max };
+        return section;
+    }
+
+    /**
+     * A section of the parkour world.
+     *
+     * @param id     The id.
+     * @param x      The x coordinate on the spiral.
+     * @param z      The z coordinate on the spiral.
+     * @param center The location at the center.
+     * @param min    The smallest location.
+     * @param max    The largest location.
+     */
+    public record Section(int id, int x, int z, Location center, Location min, Location max) {
+
+        private static Section of(int id, int[] xz) {
+            Location center = new Location(WorldManager.getWorld(),
+                    xz[0] * Option.BORDER_SIZE,
+                    (Option.MAX_Y + Option.MIN_Y) / 2.0,
+                    xz[1] * Option.BORDER_SIZE);
+
+            // get the min and max locations
+            Location max = center.clone().add(Option.BORDER_SIZE / 2, 0, Option.BORDER_SIZE / 2);
+            Location min = center.clone().subtract(Option.BORDER_SIZE / 2, 0, Option.BORDER_SIZE / 2);
+
+            max.setY(Option.MAX_Y);
+            min.setY(Option.MIN_Y);
+
+            return new Section(id, xz[0], xz[1], center, min, max);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package dev.efnilite.ip;
+
+import dev.efnilite.ip.util.AliasSampler;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AliasSamplerTest {
+
+    @Test
+    void testEmpty() {
+        assertThrows(IllegalArgumentException.class, () -> AliasSampler.of(new HashMap<>()));
+    }
+
+    @Test
+    void testDistribution() {
+        var sampler = AliasSampler.of(Map.of(1, 0.2, 0, 0.65, -1, 0.1, -2, 0.05));
+        var random = new Random(1);
+        var counts = new HashMap<Integer, Integer>();
+
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(sampler.sample(random), 1, Integer::sum);
+        }
+
+        assertEquals(0.2, counts.get(1) / 100_000.0, 0.01);
+        assertEquals(0.65, counts.get(0) / 100_000.0, 0.01);
+        assertEquals(0.1, counts.get(-1) / 100_000.0, 0.01);
+        assertEquals(0.05, counts.get(-2) / 100_000.0, 0.01);
+    }
+
+    @Test
+    void testZeroChance() {
+        var sampler = AliasSampler.of(Map.of("a", 1.0, "b", 0.0));
+        var random = new Random(1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("a", sampler.sample(random));
+        }
+    }
+
+    @Test
+    void testPurity() {
+        var sampler = AliasSampler.of(Map.of(1, 0.1, 2, 0.55, 3, 0.34, 4, 0.01));
+
+        assertEquals(sampler.sample(new Random(1)), sampler.sample(new Random(1)));
+    }
+
+    @Test
+    void testOrder() {
+        var first = new LinkedHashMap<String, Double>();
+        first.put("a", 0.5);
+        first.put("b", 0.3);
+        first.put("c", 0.2);
+
+        var second = new LinkedHashMap<String, Double>();
+        second.put("c", 0.2);
+        second.put("a", 0.5);
+        second.put("b", 0.3);
+
+        var firstSampler = AliasSampler.of(first, Comparator.naturalOrder());
+        var secondSampler = AliasSampler.of(second, Comparator.naturalOrder());
+        var firstRandom = new Random(1);
+        var secondRandom = new Random(1);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(firstSampler.sample(firstRandom), secondSampler.sample(secondRandom));
+        }
+    }
+}
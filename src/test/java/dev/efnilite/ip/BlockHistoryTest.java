@@ -0,0 +1,111 @@
+package dev.efnilite.ip;
+
+import dev.efnilite.ip.generator.BlockHistory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BlockHistoryTest {
+
+    private BlockHistory history;
+
+    @BeforeEach
+    void setUp() {
+        history = new BlockHistory(8);
+    }
+
+    @Test
+    void testPacking() {
+        long position = BlockHistory.pack(-30_000_000, -64, 29_999_999);
+
+        assertEquals(-30_000_000, BlockHistory.unpackX(position));
+        assertEquals(-64, BlockHistory.unpackY(position));
+        assertEquals(29_999_999, BlockHistory.unpackZ(position));
+    }
+
+    @Test
+    void testIndexOf() {
+        for (int i = 0; i < 5; i++) {
+            history.add(BlockHistory.pack(i, 100, 0));
+        }
+
+        assertEquals(5, history.size());
+        assertEquals(3, history.indexOf(BlockHistory.pack(3, 100, 0)));
+        assertEquals(-1, history.indexOf(BlockHistory.pack(3, 101, 0)));
+    }
+
+    @Test
+    void testEviction() {
+        for (int i = 0; i < 20; i++) {
+            history.add(BlockHistory.pack(i, 100, 0));
+        }
+
+        assertEquals(20, history.size());
+        assertEquals(12, history.getOldestIndex());
+        assertEquals(-1, history.indexOf(BlockHistory.pack(11, 100, 0)));
+        assertEquals(12, history.indexOf(BlockHistory.pack(12, 100, 0)));
+        assertEquals(19, history.indexOf(BlockHistory.pack(19, 100, 0)));
+        assertFalse(history.isRetained(11));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.getPosition(11));
+    }
+
+    @Test
+    void testDuplicatePosition() {
+        long position = BlockHistory.pack(0, 100, 0);
+
+        history.add(position);
+        for (int i = 1; i < 5; i++) {
+            history.add(BlockHistory.pack(i, 100, 0));
+        }
+        history.add(position);
+
+        assertEquals(5, history.indexOf(position));
+
+        for (int i = 0; i < 3; i++) {
+            history.add(BlockHistory.pack(i, 200, 0));
+        }
+
+        // the first occurrence was evicted, which should not remove the newer one
+        assertEquals(1, history.getOldestIndex());
+        assertEquals(5, history.indexOf(position));
+    }
+
+    @Test
+    void testRemoveLatest() {
+        for (int i = 0; i < 10; i++) {
+            history.add(BlockHistory.pack(i, 100, 0));
+        }
+
+        assertEquals(BlockHistory.pack(9, 100, 0), history.removeLatest());
+        assertEquals(9, history.size());
+        assertEquals(-1, history.indexOf(BlockHistory.pack(9, 100, 0)));
+
+        // evicted blocks are not retained again
+        assertEquals(2, history.getOldestIndex());
+        assertFalse(history.isRetained(1));
+
+        history.add(BlockHistory.pack(0, 200, 0));
+        assertEquals(9, history.indexOf(BlockHistory.pack(0, 200, 0)));
+        assertEquals(2, history.getOldestIndex());
+
+        for (int i = 0; i < 8; i++) {
+            history.removeLatest();
+        }
+        assertThrows(IllegalStateException.class, history::removeLatest);
+    }
+
+    @Test
+    void testClear() {
+        for (int i = 0; i < 20; i++) {
+            history.add(BlockHistory.pack(i, 100, 0));
+        }
+        history.clear();
+
+        assertTrue(history.isEmpty());
+        assertEquals(-1, history.indexOf(BlockHistory.pack(19, 100, 0)));
+
+        history.add(BlockHistory.pack(19, 100, 0));
+        assertEquals(0, history.indexOf(BlockHistory.pack(19, 100, 0)));
+    }
+}
@@ -0,0 +1,66 @@
+package dev.efnilite.ip;
+
+import dev.efnilite.ip.util.IntSet;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntSetTest {
+
+    @Test
+    void testAdd() {
+        IntSet set = new IntSet();
+
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(5));
+        assertFalse(set.add(5));
+        assertTrue(set.add(-3));
+        assertTrue(set.add(0));
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains(5));
+        assertTrue(set.contains(-3));
+        assertTrue(set.contains(0));
+        assertFalse(set.contains(1));
+    }
+
+    @Test
+    void testGrow() {
+        IntSet set = new IntSet(1);
+
+        for (int i = 0; i < 1000; i++) {
+            set.add(i * 16);
+        }
+
+        assertEquals(1000, set.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.contains(i * 16));
+            assertFalse(set.contains(i * 16 + 1));
+        }
+    }
+
+    @Test
+    void testClear() {
+        IntSet set = new IntSet();
+        set.add(1);
+        set.add(2);
+        set.clear();
+
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1));
+        assertTrue(set.add(1));
+    }
+
+    @Test
+    void testJoin() {
+        IntSet set = new IntSet();
+        set.add(100);
+        set.add(5);
+        set.add(25);
+
+        assertArrayEquals(new int[] { 5, 25, 100 }, set.toArray());
+        assertEquals("5,25,100", set.join(","));
+        assertEquals("[5, 25, 100]", set.toString());
+        assertEquals("", new IntSet().join(","));
+    }
+}
@@ -0,0 +1,71 @@
+package dev.efnilite.ip;
+
+import dev.efnilite.ip.reward.IntervalSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntervalScheduleTest {
+
+    @Test
+    void testAdvance() {
+        var schedule = new IntervalSchedule(new TreeMap<>(Map.of(3, "", 5, "")), 0);
+        var passed = new ArrayList<Integer>();
+
+        schedule.advance(2, passed::add);
+        assertTrue(passed.isEmpty());
+
+        schedule.advance(3, passed::add);
+        assertEquals(List.of(3), passed);
+
+        schedule.advance(14, passed::add);
+        assertEquals(List.of(3, 5, 3, 3, 5, 3), passed);
+        assertEquals(14, schedule.getScore());
+    }
+
+    @Test
+    void testStart() {
+        var schedule = new IntervalSchedule(Map.of(10, ""), 25);
+        var passed = new ArrayList<Integer>();
+
+        schedule.advance(29, passed::add);
+        assertTrue(passed.isEmpty());
+
+        schedule.advance(30, passed::add);
+        assertEquals(List.of(10), passed);
+    }
+
+    @Test
+    void testSamePassesAsLoop() {
+        var intervals = Map.of(1, "", 4, "", 7, "", 100, "");
+        var schedule = new IntervalSchedule(intervals, 0);
+
+        int old = 0;
+        for (int score = 1; score <= 1000; score += score % 3 + 1) {
+            var passed = new ArrayList<Integer>();
+            schedule.advance(score, passed::add);
+
+            int expected = 0;
+            for (int interval : intervals.keySet()) {
+                expected += score / interval - old / interval;
+            }
+
+            assertEquals(expected, passed.size());
+            old = score;
+        }
+    }
+
+    @Test
+    void testUses() {
+        var intervals = Map.of(2, "");
+        var schedule = new IntervalSchedule(intervals, 0);
+
+        assertTrue(schedule.uses(intervals));
+        assertFalse(schedule.uses(Map.of(2, "")));
+    }
+}
@@ -33,7 +33,7 @@ public class JumpDirectorTest {
 
     @Test
     void testRecommendedHeading() {
-        var point = new Vector(95, 50, 50);
+        var point = new Vector(96, 50, 50);
         var director = new JumpDirector(bb, point);
         var heading = director.getRecommendedHeading();
 
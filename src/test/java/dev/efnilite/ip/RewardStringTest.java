@@ -0,0 +1,108 @@
+package dev.efnilite.ip;
+
+import dev.efnilite.ip.reward.RewardString;
+import dev.efnilite.ip.reward.RewardString.Action;
+import dev.efnilite.ip.reward.RewardString.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RewardStringTest {
+
+    private static final List<String> MODES = List.of("default", "spectator");
+
+    @Test
+    void testCommand() {
+        Action action = new RewardString("give %player% diamond 1").resolve(MODES);
+
+        assertEquals("default", action.mode());
+        assertEquals(Type.COMMAND, action.type());
+        assertEquals("give %player% diamond 1", action.value());
+        assertTrue(action.hasPlayer());
+    }
+
+    @Test
+    void testModePrefix() {
+        Action action = new RewardString("Spectator:say hi").resolve(MODES);
+
+        assertEquals("spectator", action.mode());
+        assertEquals(Type.COMMAND, action.type());
+        assertEquals("say hi", action.value());
+        assertFalse(action.hasPlayer());
+    }
+
+    @Test
+    void testNamespacedCommand() {
+        Action action = new RewardString("minecraft:give %player% diamond 1").resolve(MODES);
+
+        assertEquals("default", action.mode());
+        assertEquals(Type.COMMAND, action.type());
+        assertEquals("minecraft:give %player% diamond 1", action.value());
+
+        action = new RewardString("essentials:eco give %player% 10").resolve(MODES);
+
+        assertEquals("default", action.mode());
+        assertEquals("essentials:eco give %player% 10", action.value());
+    }
+
+    @Test
+    void testUnregisteredMode() {
+        // a prefix is only a mode once that mode has been registered
+        RewardString reward = new RewardString("duels:say hi");
+
+        assertEquals("duels:say hi", reward.resolve(MODES).value());
+        assertEquals("duels", reward.resolve(List.of("default", "duels")).mode());
+        assertEquals("say hi", reward.resolve(List.of("default", "duels")).value());
+    }
+
+    @Test
+    void testSend() {
+        Action action = new RewardString("send:Well done %player%!").resolve(MODES);
+
+        assertEquals("default", action.mode());
+        assertEquals(Type.SEND, action.type());
+        assertEquals("Well done %player%!", action.value());
+
+        action = new RewardString("spectator:send:hi").resolve(MODES);
+
+        assertEquals("spectator", action.mode());
+        assertEquals(Type.SEND, action.type());
+        assertEquals("hi", action.value());
+    }
+
+    @Test
+    void testVault() {
+        Action action = new RewardString("vault:12.5").resolve(MODES);
+
+        assertEquals(Type.VAULT, action.type());
+        assertEquals(12.5, action.amount());
+
+        action = new RewardString("default:vault:3").resolve(MODES);
+
+        assertEquals("default", action.mode());
+        assertEquals(Type.VAULT, action.type());
+        assertEquals(3, action.amount());
+    }
+
+    @Test
+    void testLeave() {
+        Action action = new RewardString("leave:minecraft:give %player% diamond 1").resolve(MODES);
+
+        assertEquals("default", action.mode());
+        assertEquals(Type.LEAVE, action.type());
+        assertNotNull(action.leave());
+
+        Action leave = action.leave().resolve(MODES);
+
+        assertEquals(Type.COMMAND, leave.type());
+        assertEquals("minecraft:give %player% diamond 1", leave.value());
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(Type.NONE, new RewardString("").resolve(MODES).type());
+        assertEquals(Type.NONE, new RewardString("default:").resolve(MODES).type());
+    }
+}
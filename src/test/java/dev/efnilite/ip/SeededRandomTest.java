@@ -0,0 +1,62 @@
+package dev.efnilite.ip;
+
+import dev.efnilite.ip.util.SeededRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeededRandomTest {
+
+    @Test
+    void testSameSeed() {
+        SeededRandom a = new SeededRandom(42);
+        SeededRandom b = new SeededRandom(42);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.nextInt(10), b.nextInt(10));
+            assertEquals(a.nextDouble(), b.nextDouble());
+        }
+    }
+
+    @Test
+    void testCopy() {
+        SeededRandom random = new SeededRandom(42);
+        random.nextLong();
+
+        SeededRandom copy = random.copy();
+        long expected = random.nextLong();
+
+        assertEquals(expected, copy.nextLong());
+    }
+
+    @Test
+    void testSetSeed() {
+        SeededRandom random = new SeededRandom(42);
+        long first = random.nextLong();
+
+        random.nextLong();
+        random.setSeed(42);
+
+        assertEquals(first, random.nextLong());
+    }
+
+    @Test
+    void testSplit() {
+        SeededRandom a = new SeededRandom(42);
+        SeededRandom b = new SeededRandom(42);
+
+        assertEquals(a.split().nextLong(), b.split().nextLong());
+        assertNotEquals(a.split().nextLong(), a.nextLong());
+    }
+
+    @Test
+    void testRange() {
+        SeededRandom random = new SeededRandom(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            double value = random.nextDouble();
+
+            assertTrue(value >= 0 && value < 1);
+        }
+    }
+}